@@ -0,0 +1,63 @@
+package com.github.dennismuehlegger.blackjack.benchmark;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.CountingShoe;
+import com.github.dennismuehlegger.blackjack.logic.ListShoe;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int numDecks;
+
+    @Param({"list", "counting"})
+    private String shoe;
+
+    private CardLogic cardLogic;
+
+    @Setup
+    public void setup() {
+        Shoe cards = shoe.equals("counting") ? new CountingShoe() : new ListShoe();
+        cardLogic = new CardLogic(cards, new ArrayList<>());
+        cardLogic.setRandom(RandomStreams.seeded(42));
+    }
+
+    @Benchmark
+    public int fillDeck() {
+        cardLogic.clearDeck();
+        cardLogic.fillDeck(numDecks);
+        return cardLogic.getDeck().size();
+    }
+
+    @Benchmark
+    public void drawUntilEmpty(Blackhole blackhole) {
+        cardLogic.clearDeck();
+        cardLogic.fillDeck(numDecks);
+
+        for (int i = numDecks * Card.DECK_SIZE; i > 0; i--) {
+            blackhole.consume(cardLogic.drawCard());
+        }
+    }
+}
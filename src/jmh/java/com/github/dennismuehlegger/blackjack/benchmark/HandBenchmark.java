@@ -0,0 +1,64 @@
+package com.github.dennismuehlegger.blackjack.benchmark;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+    private static final int ACE = 12;
+    private static final int TWO = 0;
+    private static final int THREE = 1;
+
+    // Hands alternate aces and small cards so that the ace adjustment is exercised.
+    @Param({"2", "4", "6", "8"})
+    private int handSize;
+
+    private Card[] cards;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        cards = new Card[handSize];
+        for (int i = 0; i < handSize; i++) {
+            cards[i] = Card.of(i % 2 == 0 ? ACE : (i % 4 == 1 ? TWO : THREE));
+        }
+
+        player = buildHand();
+    }
+
+    @Benchmark
+    public int getHandValue() {
+        return player.getHandValue();
+    }
+
+    @Benchmark
+    public int buildAndEvaluateHand() {
+        return buildHand().getHandValue();
+    }
+
+    private Player buildHand() {
+        Player hand = new Player("benchmark");
+        for (Card card : cards) {
+            hand.addCard(card);
+        }
+        return hand;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.dennismuehlegger.blackjack.benchmark;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.simulation.HandStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+// Deals four cards to every hand and counts the busted hands, once with Player objects and once per kernel.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class HandStoreBenchmark {
+    private static final int DEALS = 4;
+
+    @Param({"1024", "65536"})
+    private int hands;
+
+    private Card[][] cards;
+    private int[][] values;
+    private Player[] players;
+    private HandStore scalar;
+    private HandStore vector;
+
+    @Setup
+    public void setup() {
+        RandomGenerator random = RandomStreams.seeded(42);
+        cards = new Card[DEALS][hands];
+        values = new int[DEALS][hands];
+        for (int deal = 0; deal < DEALS; deal++) {
+            for (int hand = 0; hand < hands; hand++) {
+                cards[deal][hand] = Card.of(random.nextInt(Card.DECK_SIZE));
+                values[deal][hand] = cards[deal][hand].getValue();
+            }
+        }
+
+        players = new Player[hands];
+        for (int hand = 0; hand < hands; hand++) {
+            players[hand] = new Player("benchmark");
+        }
+        scalar = new HandStore(hands, 1, false);
+        // Without -Pvector there is no vector kernel, vectorStore then measures the scalar one again.
+        vector = HandStore.isVectorAvailable() ? new HandStore(hands, 1, true) : scalar;
+    }
+
+    @Benchmark
+    public int players() {
+        int busted = 0;
+        for (int hand = 0; hand < hands; hand++) {
+            Player player = players[hand];
+            player.reset();
+            for (int deal = 0; deal < DEALS; deal++) {
+                player.addCard(cards[deal][hand]);
+            }
+            if (player.isBusted()) {
+                busted++;
+            }
+        }
+        return busted;
+    }
+
+    @Benchmark
+    public int scalarStore() {
+        return dealAndCount(scalar);
+    }
+
+    @Benchmark
+    public int vectorStore() {
+        return dealAndCount(vector);
+    }
+
+    private int dealAndCount(HandStore store) {
+        store.reset();
+        for (int deal = 0; deal < DEALS; deal++) {
+            store.addCards(values[deal]);
+        }
+        store.evaluate();
+
+        int busted = 0;
+        for (int hand = 0; hand < hands; hand++) {
+            if (store.isBusted(hand)) {
+                busted++;
+            }
+        }
+        return busted;
+    }
+}
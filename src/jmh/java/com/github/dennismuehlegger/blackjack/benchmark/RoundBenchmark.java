@@ -0,0 +1,55 @@
+package com.github.dennismuehlegger.blackjack.benchmark;
+
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.simulation.Simulator;
+import com.github.dennismuehlegger.blackjack.simulation.ThresholdStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+    @Param({"2", "7"})
+    private int numPlayers;
+
+    @Param({"1", "8"})
+    private int numDecks;
+
+    private Simulator simulator;
+
+    @Setup
+    public void setup() {
+        List<PlayerStrategy> strategies = Collections.nCopies(numPlayers, new ThresholdStrategy(17));
+        simulator = new Simulator(numDecks, strategies, RandomStreams.seeded(42));
+    }
+
+    @Benchmark
+    public Winner playRound() {
+        return simulator.playRound();
+    }
+
+    // Run with -prof gc: gc.alloc.rate.norm is the number of bytes allocated per round.
+    @Benchmark
+    public int playGame() {
+        return simulator.playGame();
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dennismuehlegger.blackjack.benchmark;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinnerBenchmark {
+    @Param({"2", "3", "4", "5", "6", "7"})
+    private int numPlayers;
+
+    private RoundLogic roundLogic;
+
+    @Setup
+    public void setup() {
+        List<Player> players = new ArrayList<>();
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), players);
+        cardLogic.setRandom(RandomStreams.seeded(42));
+        cardLogic.setListener(GameListener.NONE);
+        cardLogic.fillDeck(1);
+
+        for (int i = 0; i < numPlayers; i++) {
+            Player player = new Player("player " + (i + 1));
+            player.addCard(cardLogic.drawCard());
+            player.addCard(cardLogic.drawCard());
+            players.add(player);
+        }
+
+        roundLogic = new RoundLogic(cardLogic, null, players);
+    }
+
+    @Benchmark
+    public Winner findWinnersWithHighestScore() {
+        return roundLogic.findWinnersWithHighestScore();
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.dennismuehlegger.blackjack.analysis;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+
+import java.util.List;
+
+// A hand as one long: how many cards of each value it holds, which is all that decides its value, plus the
+// player's status. Suits and the order of the cards are dropped, so equal hands get equal words.
+//
+//   bits  0-35  nine 4-bit counts for the values 2 to 10
+//   bits 36-40  the number of aces (a hand that can still hit holds at most 21 of them)
+//   bit  48     out
+//   bit  49     standing
+public final class PackedHand {
+    public static final long OUT = 1L << 48;
+    public static final long STANDING = 1L << 49;
+
+    private static final int MIN_VALUE = 2;
+    private static final int ACE_VALUE = 11;
+    private static final int ACE_REDUCTION = 10;
+    private static final int HIGHEST_SCORE = 21;
+    private static final int COUNT_BITS = 4;
+    private static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+    private static final int ACE_SHIFT = (ACE_VALUE - MIN_VALUE) * COUNT_BITS;
+    private static final int MAX_ACES = (1 << 5) - 1;
+
+    // The spade of each value is the card a decoded hand holds, a ten-valued card is decoded as a 10.
+    private static final int[] CODES = {0, 1, 2, 3, 4, 5, 6, 7, 8, 12};
+
+    private PackedHand() {
+    }
+
+    public static long encode(Player player) {
+        long hand = encode(player.getHand());
+        if (player.isOut()) {
+            hand |= OUT;
+        }
+        if (player.isStanding()) {
+            hand |= STANDING;
+        }
+        return hand;
+    }
+
+    public static long encode(List<Card> cards) {
+        long hand = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            hand = addCard(hand, cards.get(i).getValue());
+        }
+        return hand;
+    }
+
+    public static long addCard(long hand, int value) {
+        if (value < MIN_VALUE || value > ACE_VALUE) {
+            throw new IllegalArgumentException("Card value must be between " + MIN_VALUE + " and " + ACE_VALUE);
+        }
+        if (count(hand, value) == (value == ACE_VALUE ? MAX_ACES : MAX_COUNT)) {
+            throw new IllegalArgumentException("Too many cards of value " + value + " for a packed hand");
+        }
+        return hand + (1L << shift(value));
+    }
+
+    public static int count(long hand, int value) {
+        int mask = value == ACE_VALUE ? MAX_ACES : MAX_COUNT;
+        return (int) (hand >>> shift(value)) & mask;
+    }
+
+    private static int shift(int value) {
+        return value == ACE_VALUE ? ACE_SHIFT : (value - MIN_VALUE) * COUNT_BITS;
+    }
+
+    public static int cardCount(long hand) {
+        int cards = 0;
+        for (int value = MIN_VALUE; value <= ACE_VALUE; value++) {
+            cards += count(hand, value);
+        }
+        return cards;
+    }
+
+    // Every ace counts 1, and one of them counts 11 if that does not bust: the same value as Player.addCard.
+    public static int handValue(long hand) {
+        int value = hardValue(hand);
+        return count(hand, ACE_VALUE) > 0 && value + ACE_REDUCTION <= HIGHEST_SCORE ? value + ACE_REDUCTION : value;
+    }
+
+    public static boolean isSoft(long hand) {
+        return count(hand, ACE_VALUE) > 0 && hardValue(hand) + ACE_REDUCTION <= HIGHEST_SCORE;
+    }
+
+    private static int hardValue(long hand) {
+        int value = count(hand, ACE_VALUE);
+        for (int cardValue = MIN_VALUE; cardValue < ACE_VALUE; cardValue++) {
+            value += cardValue * count(hand, cardValue);
+        }
+        return value;
+    }
+
+    public static boolean isBusted(long hand) {
+        return handValue(hand) > HIGHEST_SCORE;
+    }
+
+    public static boolean isOut(long hand) {
+        return (hand & OUT) != 0;
+    }
+
+    public static boolean isStanding(long hand) {
+        return (hand & STANDING) != 0;
+    }
+
+    public static Player decode(long hand, String name) {
+        Player player = new Player(name);
+        decodeInto(hand, player);
+        return player;
+    }
+
+    // Resets the player and deals them the cards of the hand, lowest value first.
+    public static void decodeInto(long hand, Player player) {
+        player.reset();
+        for (int value = MIN_VALUE; value <= ACE_VALUE; value++) {
+            Card card = Card.of(CODES[value - MIN_VALUE]);
+            for (int i = count(hand, value); i > 0; i--) {
+                player.addCard(card);
+            }
+        }
+        player.setOut(isOut(hand));
+        player.setStanding(isStanding(hand));
+    }
+}
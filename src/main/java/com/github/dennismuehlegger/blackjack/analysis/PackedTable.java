@@ -0,0 +1,210 @@
+package com.github.dennismuehlegger.blackjack.analysis;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.CountingShoe;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A table state in three longs: what the odds from here on depend on, not how the table got there.
+//
+//   seats     round (5 bits), next seat (3 bits), then one byte per seat: total (5 bits), soft (1 bit), status
+//   deckLow   number of seats (4 bits), then the 12-bit counts of the values 2 to 6 left in the shoe
+//   deckHigh  the 12-bit counts of the values 7 to 11
+//
+// A seat that is out is stored as OUT alone, its hand can no longer change anything.
+public record PackedTable(long seats, long deckLow, long deckHigh) {
+    public static final int ACTIVE = 0;
+    public static final int STANDING = 1;
+    public static final int OUT = 2;
+
+    public static final int VALUES = 10;
+    public static final int MIN_VALUE = 2;
+
+    private static final int SEAT_BITS = 8;
+    private static final int COUNT_BITS = 12;
+    private static final int COUNTS_PER_WORD = 5;
+    public static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+    private static final int SEAT_COUNT_SHIFT = COUNT_BITS * COUNTS_PER_WORD;
+    private static final int ROUND_SHIFT = 3;
+
+    // Packs the arrays of a search in place, counts holds the cards left per value starting at MIN_VALUE.
+    public static PackedTable pack(int round, int nextSeat, int numSeats,
+                                   int[] totals, int[] softAces, int[] status, int[] counts) {
+        long seats = ((long) round << ROUND_SHIFT) | nextSeat;
+        for (int seat = 0; seat < numSeats; seat++) {
+            long seatState = status[seat] == OUT ? OUT
+                    : ((long) totals[seat] << 3) | ((long) Math.min(softAces[seat], 1) << 2) | status[seat];
+            seats = (seats << SEAT_BITS) | seatState;
+        }
+
+        long deckLow = numSeats;
+        long deckHigh = 0;
+        for (int value = 0; value < COUNTS_PER_WORD; value++) {
+            deckLow = (deckLow << COUNT_BITS) | counts[value];
+            deckHigh = (deckHigh << COUNT_BITS) | counts[value + COUNTS_PER_WORD];
+        }
+
+        return new PackedTable(seats, deckLow, deckHigh);
+    }
+
+    public static PackedTable encode(List<Player> players, Shoe shoe, int round, int nextSeat) {
+        if (players.size() > RoundLogic.MAX_PLAYERS) {
+            throw new IllegalArgumentException("At most " + RoundLogic.MAX_PLAYERS + " players are supported");
+        }
+
+        int numSeats = players.size();
+        int[] totals = new int[numSeats];
+        int[] softAces = new int[numSeats];
+        int[] status = new int[numSeats];
+        for (int seat = 0; seat < numSeats; seat++) {
+            Player player = players.get(seat);
+            totals[seat] = player.getHandValue();
+            softAces[seat] = player.isSoft() ? 1 : 0;
+            status[seat] = statusOf(player);
+        }
+
+        return pack(round, nextSeat, numSeats, totals, softAces, status, valueCounts(shoe.getComposition()));
+    }
+
+    public static PackedTable encode(CardLogic cardLogic, int round, int nextSeat) {
+        return encode(cardLogic.getPlayers(), cardLogic.getShoe(), round, nextSeat);
+    }
+
+    static int statusOf(Player player) {
+        if (player.isOut() || player.isBusted()) {
+            return OUT;
+        }
+        return player.isStanding() ? STANDING : ACTIVE;
+    }
+
+    // Folds the per-card composition of a shoe into counts per value.
+    public static int[] valueCounts(int[] composition) {
+        int[] counts = new int[VALUES];
+        for (int code = 0; code < composition.length; code++) {
+            counts[Card.valueOf(code) - MIN_VALUE] += composition[code];
+        }
+        for (int count : counts) {
+            if (count > MAX_COUNT) {
+                throw new IllegalArgumentException("At most " + MAX_COUNT + " cards of one value are supported");
+            }
+        }
+        return counts;
+    }
+
+    public int numSeats() {
+        return (int) (deckLow >>> SEAT_COUNT_SHIFT);
+    }
+
+    public int round() {
+        return (int) (seats >>> (numSeats() * SEAT_BITS + ROUND_SHIFT));
+    }
+
+    public int nextSeat() {
+        return (int) (seats >>> (numSeats() * SEAT_BITS)) & ((1 << ROUND_SHIFT) - 1);
+    }
+
+    private int seatState(int seat) {
+        return (int) (seats >>> ((numSeats() - 1 - seat) * SEAT_BITS)) & ((1 << SEAT_BITS) - 1);
+    }
+
+    public int status(int seat) {
+        return seatState(seat) & 3;
+    }
+
+    public int total(int seat) {
+        return status(seat) == OUT ? 0 : seatState(seat) >>> 3;
+    }
+
+    public boolean isSoft(int seat) {
+        return status(seat) != OUT && (seatState(seat) & 4) != 0;
+    }
+
+    public int count(int value) {
+        int index = value - MIN_VALUE;
+        long word = index < COUNTS_PER_WORD ? deckLow : deckHigh;
+        int position = COUNTS_PER_WORD - 1 - index % COUNTS_PER_WORD;
+        return (int) (word >>> (position * COUNT_BITS)) & MAX_COUNT;
+    }
+
+    public int remaining() {
+        int remaining = 0;
+        for (int value = MIN_VALUE; value < MIN_VALUE + VALUES; value++) {
+            remaining += count(value);
+        }
+        return remaining;
+    }
+
+    // Players holding the smallest hand with each seat's total and softness. A seat that is out gets an
+    // empty hand, since its cards were dropped when packing.
+    public List<Player> decodePlayers() {
+        List<Player> players = new ArrayList<>(numSeats());
+        for (int seat = 0; seat < numSeats(); seat++) {
+            players.add(PackedHand.decode(representativeHand(seat), "seat " + (seat + 1)));
+        }
+        return players;
+    }
+
+    private long representativeHand(int seat) {
+        if (status(seat) == OUT) {
+            return PackedHand.OUT;
+        }
+
+        long hand = status(seat) == STANDING ? PackedHand.STANDING : 0;
+        int total = total(seat);
+        if (isSoft(seat)) {
+            hand = PackedHand.addCard(hand, 11);
+            total -= 11;
+            // Soft 12 is two aces, the second one counting 1.
+            if (total == 1) {
+                return PackedHand.addCard(hand, 11);
+            }
+        }
+        while (total > 0) {
+            int value = Math.min(total, 10);
+            // A single card of value 1 does not exist, so a leftover 1 is taken from the card before.
+            if (total - value == 1) {
+                value--;
+            }
+            hand = PackedHand.addCard(hand, value);
+            total -= value;
+        }
+        return hand;
+    }
+
+    // A shoe with the remaining cards, a spade standing in for every card of a value.
+    public Shoe decodeShoe() {
+        CountingShoe shoe = new CountingShoe();
+        for (int value = MIN_VALUE; value < MIN_VALUE + VALUES; value++) {
+            Card card = Card.of(value == 11 ? 12 : value - MIN_VALUE);
+            for (int i = count(value); i > 0; i--) {
+                shoe.add(card);
+            }
+        }
+        return shoe;
+    }
+
+    // A 64-bit hash for open-addressing transposition tables: each word goes through a multiply-xorshift
+    // finalizer, so states that differ in one count or one seat still land far apart.
+    public long hash() {
+        long hash = mix(seats);
+        hash = mix(hash ^ deckLow);
+        return mix(hash ^ deckHigh);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int hashCode() {
+        long hash = hash();
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
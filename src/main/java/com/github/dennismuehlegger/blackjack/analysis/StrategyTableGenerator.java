@@ -0,0 +1,134 @@
+package com.github.dennismuehlegger.blackjack.analysis;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.CountingShoe;
+import com.github.dennismuehlegger.blackjack.logic.Decision;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+import com.github.dennismuehlegger.blackjack.simulation.StrategyTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Solves every state of a StrategyTable with the exact calculator. The player acts first, every opponent
+// starts from the representative total of the bucket and cards are drawn with replacement from the shoe,
+// so one solved state serves all the card combinations that fall into it. More opponents than
+// modeledOpponents share the decisions of modeledOpponents, because the exact search grows exponentially
+// with the number of seats.
+public class StrategyTableGenerator {
+    private static final int MIN_HARD_VALUE = 4;
+    private static final int MIN_SOFT_VALUE = 12;
+    private static final int ACE_CODE = 12;
+    private static final int ACE_VALUE = 11;
+
+    private final WinProbabilityCalculator calculator;
+    private final Shoe shoe;
+    private final int modeledOpponents;
+
+    public StrategyTableGenerator(int numDecks, int modeledOpponents) {
+        this(numDecks, modeledOpponents, new TranspositionCache());
+    }
+
+    public StrategyTableGenerator(int numDecks, int modeledOpponents, TranspositionCache cache) {
+        if (modeledOpponents < 1 || modeledOpponents > StrategyTable.MAX_OPPONENTS) {
+            throw new IllegalArgumentException("Between 1 and " + StrategyTable.MAX_OPPONENTS + " opponents can be modeled");
+        }
+
+        this.calculator = new WinProbabilityCalculator(cache);
+        this.calculator.setDrawWithReplacement(true);
+        this.shoe = new CountingShoe(numDecks);
+        this.modeledOpponents = modeledOpponents;
+    }
+
+    public StrategyTable generate() {
+        byte[] decisions = new byte[StrategyTable.SIZE];
+
+        for (int opponents = 1; opponents <= StrategyTable.MAX_OPPONENTS; opponents++) {
+            int modeled = Math.min(opponents, modeledOpponents);
+
+            for (int bucket = 0; bucket < StrategyTable.BUCKETS; bucket++) {
+                for (int round = 1; round <= RoundLogic.MAX_ROUNDS; round++) {
+                    for (int value = 0; value < StrategyTable.VALUES; value++) {
+                        decisions[StrategyTable.index(value, false, opponents, bucket, round)] =
+                                solve(value, false, modeled, bucket, round);
+                        decisions[StrategyTable.index(value, true, opponents, bucket, round)] =
+                                solve(value, true, modeled, bucket, round);
+                    }
+                }
+            }
+        }
+
+        return new StrategyTable(decisions);
+    }
+
+    private byte solve(int value, boolean soft, int opponents, int bucket, int round) {
+        int minValue = soft ? MIN_SOFT_VALUE : MIN_HARD_VALUE;
+        if (value < minValue) {
+            // No two cards make this hand, it can only be reached through the table index of a smaller hand.
+            return value < MIN_HARD_VALUE ? (byte) 1 : solve(value, false, opponents, bucket, round);
+        }
+        if (value == RoundLogic.HIGHEST_SCORE) {
+            return 0;
+        }
+
+        List<Player> players = new ArrayList<>();
+        players.add(createPlayer("player", value, soft));
+        for (int i = 0; i < opponents; i++) {
+            players.add(createPlayer("opponent " + (i + 1), StrategyTable.representativeTotal(bucket), false));
+        }
+
+        return calculator.bestDecision(players, shoe, round, 0) == Decision.HIT ? (byte) 1 : 0;
+    }
+
+    private static Player createPlayer(String name, int value, boolean soft) {
+        Player player = new Player(name);
+        int hardValue = value;
+
+        if (soft) {
+            player.addCard(Card.of(ACE_CODE));
+            hardValue -= ACE_VALUE;
+            if (hardValue == 1) {
+                player.addCard(Card.of(ACE_CODE));
+                return player;
+            }
+        }
+
+        // Cards of at most 10 and never below 2, e.g. 20 becomes 10 + 10 and 21 becomes 10 + 9 + 2.
+        while (hardValue > 10) {
+            int card = Math.min(10, hardValue - 2);
+            player.addCard(Card.of(card - 2));
+            hardValue -= card;
+        }
+        player.addCard(Card.of(hardValue - 2));
+        return player;
+    }
+
+    public int getCacheSize() {
+        return calculator.getCacheSize();
+    }
+
+    public TranspositionCache getCache() {
+        return calculator.getCache();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "strategy-table.bin");
+        int numDecks = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int modeledOpponents = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long cacheBytes = args.length > 3 ? Long.parseLong(args[3]) << 20 : TranspositionCache.DEFAULT_MAX_BYTES;
+
+        long start = System.nanoTime();
+        TranspositionCache cache = new TranspositionCache(cacheBytes);
+        StrategyTableGenerator generator = new StrategyTableGenerator(numDecks, modeledOpponents, cache);
+        StrategyTable table = generator.generate();
+        table.save(path);
+
+        System.out.printf("Solved %,d table entries (%,d cached states) in %.3f s, written to %s%n",
+                StrategyTable.SIZE, generator.getCacheSize(), (System.nanoTime() - start) / 1_000_000_000.0, path);
+        System.out.printf("Cache: %.1f%% hits, %,d evictions, %,d of %,d MiB used%n",
+                cache.getHitRate() * 100, cache.getEvictions(), cache.getBytes() >> 20, cache.getMaxBytes() >> 20);
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.dennismuehlegger.blackjack.analysis;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Solved table states with a memory budget. Lookups only read a ConcurrentHashMap and set the entry's
+// reference bit. Inserts go to one of 16 segments, picked by the state's hash, and each segment evicts with
+// CLOCK: its hand sweeps a ring of entries, clears reference bits and evicts the first entry that was not
+// read since the last sweep. Sizes are estimated from the object layout with compressed oops, so the budget
+// bounds the heap the cache holds rather than the number of entries.
+public class TranspositionCache {
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    // PackedTable (40), double[] header (16), Entry (32), map node (32), map table and ring slots (12).
+    static final int ENTRY_OVERHEAD_BYTES = 132;
+
+    private static final int SEGMENTS = 16;
+
+    private final ConcurrentHashMap<PackedTable, Entry> map;
+    private final Segment[] segments;
+    private final long maxBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TranspositionCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public TranspositionCache(long maxBytes) {
+        if (maxBytes < (long) SEGMENTS * ENTRY_OVERHEAD_BYTES) {
+            throw new IllegalArgumentException("A cache needs at least " + SEGMENTS * ENTRY_OVERHEAD_BYTES + " bytes");
+        }
+
+        this.maxBytes = maxBytes;
+        this.map = new ConcurrentHashMap<>();
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maxBytes / SEGMENTS);
+        }
+    }
+
+    public double[] get(PackedTable key) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        entry.referenced = true;
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(PackedTable key, double[] value) {
+        segmentOf(key).put(key, value);
+    }
+
+    private Segment segmentOf(PackedTable key) {
+        return segments[(int) (key.hash() >>> 60)];
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long getBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.getBytes();
+        }
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    static int bytesOf(double[] value) {
+        return ENTRY_OVERHEAD_BYTES + Double.BYTES * value.length;
+    }
+
+    private static final class Entry {
+        final PackedTable key;
+        volatile double[] value;
+        volatile boolean referenced;
+        final int bytes;
+
+        Entry(PackedTable key, double[] value) {
+            this.key = key;
+            this.value = value;
+            this.bytes = bytesOf(value);
+        }
+    }
+
+    private final class Segment {
+        private static final int INITIAL_SLOTS = 64;
+
+        private final long maxBytes;
+        // Every entry takes at least ENTRY_OVERHEAD_BYTES, so within budget the ring never needs more slots.
+        private final int maxSlots;
+        private Entry[] ring;
+        private int hand;
+        private int count;
+        private long bytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+            this.maxSlots = (int) Math.min(Integer.MAX_VALUE - 8, maxBytes / ENTRY_OVERHEAD_BYTES);
+            this.ring = new Entry[Math.min(INITIAL_SLOTS, maxSlots)];
+        }
+
+        synchronized void put(PackedTable key, double[] value) {
+            Entry existing = map.get(key);
+            if (existing != null) {
+                existing.value = value;
+                return;
+            }
+
+            Entry entry = new Entry(key, value);
+            if (entry.bytes > maxBytes) {
+                return;
+            }
+
+            while (bytes + entry.bytes > maxBytes) {
+                evictOne();
+            }
+            if (count == ring.length) {
+                hand = ring.length;
+                ring = Arrays.copyOf(ring, Math.min(maxSlots, ring.length * 2));
+            }
+            while (ring[hand] != null) {
+                hand = next(hand);
+            }
+
+            ring[hand] = entry;
+            hand = next(hand);
+            count++;
+            bytes += entry.bytes;
+            map.put(key, entry);
+        }
+
+        // Leaves the hand on the freed slot, where the next entry goes.
+        private void evictOne() {
+            while (true) {
+                Entry entry = ring[hand];
+                if (entry != null) {
+                    if (!entry.referenced) {
+                        ring[hand] = null;
+                        count--;
+                        bytes -= entry.bytes;
+                        map.remove(entry.key, entry);
+                        evictions.increment();
+                        return;
+                    }
+                    entry.referenced = false;
+                }
+                hand = next(hand);
+            }
+        }
+
+        private int next(int slot) {
+            return slot + 1 == ring.length ? 0 : slot + 1;
+        }
+
+        synchronized void clear() {
+            for (Entry entry : ring) {
+                if (entry != null) {
+                    map.remove(entry.key, entry);
+                }
+            }
+            ring = new Entry[Math.min(INITIAL_SLOTS, maxSlots)];
+            hand = 0;
+            count = 0;
+            bytes = 0;
+        }
+
+        synchronized long getBytes() {
+            return bytes;
+        }
+    }
+}
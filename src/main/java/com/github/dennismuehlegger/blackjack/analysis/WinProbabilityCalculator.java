@@ -0,0 +1,326 @@
+package com.github.dennismuehlegger.blackjack.analysis;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.Decision;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Exact odds under the rules of RoundLogic: every player who is asked hits or stands, whichever gives them the
+// higher chance to win, and a tie counts as a win for every tied player. States are cached by seat states,
+// round, next seat and the composition of the remaining cards, so the cache stays valid between calls and can
+// be shared by calculators on other threads, as long as they all draw the same way.
+public class WinProbabilityCalculator {
+    private static final int VALUES = PackedTable.VALUES;
+    private static final int MIN_VALUE = PackedTable.MIN_VALUE;
+    private static final int ACE_VALUE = 11;
+    private static final int ACE_REDUCTION = 10;
+
+    private static final int ACTIVE = PackedTable.ACTIVE;
+    private static final int STANDING = PackedTable.STANDING;
+    private static final int OUT = PackedTable.OUT;
+
+    private static final int MAX_COUNT = PackedTable.MAX_COUNT;
+
+    private final TranspositionCache cache;
+
+    private int seats;
+    private final int[] totals = new int[RoundLogic.MAX_PLAYERS];
+    private final int[] softAces = new int[RoundLogic.MAX_PLAYERS];
+    private final int[] status = new int[RoundLogic.MAX_PLAYERS];
+    private final int[] counts = new int[VALUES];
+    private int remaining;
+    private boolean drawWithReplacement;
+
+    public WinProbabilityCalculator() {
+        this(new TranspositionCache());
+    }
+
+    public WinProbabilityCalculator(TranspositionCache cache) {
+        this.cache = cache;
+    }
+
+    public double[] calculate(List<Player> players, List<Card> deck) {
+        loadPlayers(players);
+        loadDeck(deck);
+        return calculateFromStart();
+    }
+
+    public double[] calculate(List<Player> players, Shoe shoe) {
+        loadPlayers(players);
+        loadComposition(shoe.getComposition());
+        return calculateFromStart();
+    }
+
+    public double[] calculate(List<Player> players, List<Card> deck, int round, int nextSeat) {
+        loadPlayers(players);
+        loadDeck(deck);
+        return turn(round, nextSeat).clone();
+    }
+
+    public double[] calculate(List<Player> players, Shoe shoe, int round, int nextSeat) {
+        loadPlayers(players);
+        loadComposition(shoe.getComposition());
+        return turn(round, nextSeat).clone();
+    }
+
+    public Decision bestDecision(List<Player> players, Shoe shoe, int round, int seat) {
+        loadPlayers(players);
+        loadComposition(shoe.getComposition());
+
+        if (seat < 0 || seat >= seats || status[seat] != ACTIVE) {
+            throw new IllegalArgumentException("Seat " + seat + " has no decision to make");
+        }
+
+        double[][] options = options(round, seat);
+        return chooseHit(options, seat) ? Decision.HIT : Decision.STAND;
+    }
+
+    private double[] calculateFromStart() {
+        double[] immediateWinners = new double[seats];
+        boolean immediateWin = false;
+        for (int seat = 0; seat < seats; seat++) {
+            if (totals[seat] == RoundLogic.HIGHEST_SCORE) {
+                immediateWinners[seat] = 1.0;
+                immediateWin = true;
+            }
+        }
+
+        return immediateWin ? immediateWinners : turn(1, 0).clone();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public TranspositionCache getCache() {
+        return cache;
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    public boolean isDrawWithReplacement() {
+        return drawWithReplacement;
+    }
+
+    // Drawing with replacement models an endless shoe of the given composition: the odds no longer depend on
+    // which cards are gone, so far fewer states need to be solved.
+    public void setDrawWithReplacement(boolean drawWithReplacement) {
+        if (this.drawWithReplacement != drawWithReplacement) {
+            cache.clear();
+        }
+        this.drawWithReplacement = drawWithReplacement;
+    }
+
+    private void loadPlayers(List<Player> players) {
+        if (players.size() > RoundLogic.MAX_PLAYERS) {
+            throw new IllegalArgumentException("At most " + RoundLogic.MAX_PLAYERS + " players are supported");
+        }
+
+        seats = players.size();
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = players.get(seat);
+            totals[seat] = player.getHandValue();
+            softAces[seat] = player.isSoft() ? 1 : 0;
+
+            status[seat] = PackedTable.statusOf(player);
+        }
+
+    }
+
+    private void loadDeck(List<Card> deck) {
+        Arrays.fill(counts, 0);
+        for (Card card : deck) {
+            counts[card.getValue() - MIN_VALUE]++;
+        }
+        remaining = deck.size();
+        checkCounts();
+    }
+
+    private void loadComposition(int[] composition) {
+        Arrays.fill(counts, 0);
+        remaining = 0;
+        for (int code = 0; code < composition.length; code++) {
+            counts[Card.valueOf(code) - MIN_VALUE] += composition[code];
+            remaining += composition[code];
+        }
+        checkCounts();
+    }
+
+    private void checkCounts() {
+        for (int count : counts) {
+            if (count > MAX_COUNT) {
+                throw new IllegalArgumentException("At most " + MAX_COUNT + " cards of one value are supported");
+            }
+        }
+    }
+
+    private double[] turn(int round, int seat) {
+        while (seat < seats && status[seat] != ACTIVE) {
+            seat++;
+        }
+
+        if (seat == seats) {
+            double[] end = checkWinCondition();
+            if (end != null) {
+                return end;
+            }
+            return round == RoundLogic.MAX_ROUNDS ? determineWinner() : turn(round + 1, 0);
+        }
+
+        PackedTable key = PackedTable.pack(round, seat, seats, totals, softAces, status, counts);
+        double[] cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        double[][] options = options(round, seat);
+        double[] result = chooseHit(options, seat) ? options[1] : options[0];
+
+        cache.put(key, result);
+        return result;
+    }
+
+    // Returns the outcome of standing and, unless it cannot beat standing, the outcome of hitting.
+    private double[][] options(int round, int seat) {
+        status[seat] = STANDING;
+        double[] stand = afterTurn(round, seat);
+        status[seat] = ACTIVE;
+
+        double[] hit = null;
+        if (remaining > 0 && stand[seat] < survivalProbability(seat)) {
+            hit = hit(round, seat);
+        }
+        return new double[][]{stand, hit};
+    }
+
+    private boolean chooseHit(double[][] options, int seat) {
+        return options[1] != null && options[1][seat] > options[0][seat];
+    }
+
+    private double[] hit(int round, int seat) {
+        double[] result = new double[seats];
+        int total = totals[seat];
+        int soft = softAces[seat];
+        int cards = remaining;
+
+        for (int value = 0; value < VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+
+            if (!drawWithReplacement) {
+                counts[value]--;
+                remaining--;
+            }
+            addCard(seat, value + MIN_VALUE);
+
+            double[] outcome;
+            if (totals[seat] > RoundLogic.HIGHEST_SCORE) {
+                status[seat] = OUT;
+                outcome = afterTurn(round, seat);
+                status[seat] = ACTIVE;
+            } else if (totals[seat] == RoundLogic.HIGHEST_SCORE) {
+                outcome = determineWinner();
+            } else {
+                outcome = afterTurn(round, seat);
+            }
+
+            double probability = (double) count / cards;
+            for (int i = 0; i < seats; i++) {
+                result[i] += probability * outcome[i];
+            }
+
+            totals[seat] = total;
+            softAces[seat] = soft;
+            if (!drawWithReplacement) {
+                remaining++;
+                counts[value]++;
+            }
+        }
+
+        return result;
+    }
+
+    // A bust always loses, so hitting can never beat standing once standing wins at least as often as the
+    // next card leaves the player alive.
+    private double survivalProbability(int seat) {
+        int survivingCards = 0;
+        for (int value = 0; value < VALUES; value++) {
+            int cardValue = value + MIN_VALUE;
+            boolean busts = totals[seat] + cardValue > RoundLogic.HIGHEST_SCORE
+                    && softAces[seat] == 0
+                    && (cardValue != ACE_VALUE || totals[seat] + 1 > RoundLogic.HIGHEST_SCORE);
+            if (!busts) {
+                survivingCards += counts[value];
+            }
+        }
+        return (double) survivingCards / remaining;
+    }
+
+    private void addCard(int seat, int value) {
+        totals[seat] += value;
+        if (value == ACE_VALUE) {
+            softAces[seat]++;
+        }
+
+        while (totals[seat] > RoundLogic.HIGHEST_SCORE && softAces[seat] > 0) {
+            totals[seat] -= ACE_REDUCTION;
+            softAces[seat]--;
+        }
+    }
+
+    private double[] afterTurn(int round, int seat) {
+        double[] end = checkWinCondition();
+        return end != null ? end : turn(round, seat + 1);
+    }
+
+    private double[] checkWinCondition() {
+        int active = 0;
+        int lastActive = -1;
+        boolean allStanding = true;
+
+        for (int seat = 0; seat < seats; seat++) {
+            if (status[seat] != OUT) {
+                active++;
+                lastActive = seat;
+                allStanding &= status[seat] == STANDING;
+            }
+        }
+
+        if (active == 1) {
+            double[] result = new double[seats];
+            result[lastActive] = 1.0;
+            return result;
+        }
+
+        if (active == 0) {
+            return new double[seats];
+        }
+
+        return allStanding ? determineWinner() : null;
+    }
+
+    private double[] determineWinner() {
+        int highestValue = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            if (status[seat] != OUT) {
+                highestValue = Math.max(highestValue, totals[seat]);
+            }
+        }
+
+        double[] result = new double[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            if (status[seat] != OUT && totals[seat] == highestValue) {
+                result[seat] = 1.0;
+            }
+        }
+        return result;
+    }
+}
@@ -1,39 +1,61 @@
 package com.github.dennismuehlegger.blackjack.game;
 
+import com.github.dennismuehlegger.blackjack.jfr.GameEvent;
 import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.CutCardShoe;
+import com.github.dennismuehlegger.blackjack.logic.ListShoe;
 import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
 
 public class BlackjackGame {
+    private static final double PENETRATION = 0.75;
+
     private List<Card> deck;
     public List<Player> players;
     private Scanner scanner;
-    private Random random;
+    private CardLogic cardLogic;
+    private RoundLogic roundLogic;
 
     public BlackjackGame() {
         this.deck = new ArrayList<>();
         this.players = new ArrayList<>();
         this.scanner = new Scanner(System.in);
-        this.random = new Random();
     }
 
     public BlackjackGame(List<Card> deck, List<Player> players) {
         this.deck = deck;
         this.players = players;
         this.scanner = new Scanner(System.in);
-        this.random = new Random();
     }
 
     public void setup() throws InterruptedException {
-        CardLogic cardLogic = new CardLogic(this.deck, this.players);
-        RoundLogic roundLogic = new RoundLogic(cardLogic, this, this.players);
+        cardLogic = new CardLogic(new CutCardShoe(new ListShoe(this.deck), PENETRATION), this.players, scanner);
+        roundLogic = new RoundLogic(cardLogic, this, this.players, scanner);
         cardLogic.createDeck();
         roundLogic.createPlayers();
+        playRound();
+    }
+
+    public void playRound() throws InterruptedException {
+        GameEvent event = new GameEvent();
+        event.begin();
+
         cardLogic.dealInitialCards();
         roundLogic.playRounds();
+        roundLogic.commitGameEvent(event);
+    }
+
+    // The next round keeps the table: same players and the same shoe, which is only reshuffled at the cut card.
+    public void reset() {
+        roundLogic.reset();
+        cardLogic.shuffleIfCutCardReached();
+    }
+
+    private boolean promptPlayAgain() {
+        System.out.print("\nDo you want to play another round? (yes/no): ");
+        return scanner.nextLine().toLowerCase().trim().equals("yes");
     }
 
     public static void main(String[] args) throws InterruptedException {
@@ -41,14 +63,12 @@ public class BlackjackGame {
         System.out.println("        BLACKJACK GAME             ");
         System.out.println("====================================\n");
 
-        Scanner scanner = new Scanner(System.in);
-        String resumePlaying;
-        do {
-            BlackjackGame game = new BlackjackGame();
-            game.setup();
-            System.out.print("\nDo you want to play another round? (yes/no): ");
-            resumePlaying = scanner.nextLine().toLowerCase().trim();
-        } while (resumePlaying.equals("yes"));
+        BlackjackGame game = new BlackjackGame();
+        game.setup();
+        while (game.promptPlayAgain()) {
+            game.reset();
+            game.playRound();
+        }
 
         System.out.println("\nThanks for playing!");
     }
@@ -1,17 +1,64 @@
 package com.github.dennismuehlegger.blackjack.game;
 
 public class Card {
+    public static final int DECK_SIZE = 52;
+    public static final int UNKNOWN_CODE = -1;
+
     private final int value;
     private final String suit;
     private final String rank;
+    private final int code;
 
     private static final String[] SUITS = {"♠", "♥", "♦", "♣"};
     private static final String[] RANKS = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+    private static final int[] RANK_VALUES = {2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 11};
+
+    // Canonical instances indexed by code = suitIndex * RANKS.length + rankIndex, in the order of a fresh deck.
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (int code = 0; code < DECK_SIZE; code++) {
+            int rankIndex = code % RANKS.length;
+            CARDS[code] = new Card(RANK_VALUES[rankIndex], SUITS[code / RANKS.length], RANKS[rankIndex], code);
+        }
+    }
 
     public Card(int value, String suit, String rank) {
+        this(value, suit, rank, codeOf(suit, rank));
+    }
+
+    private Card(int value, String suit, String rank, int code) {
         this.value = value;
         this.suit = suit;
         this.rank = rank;
+        this.code = code;
+    }
+
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    public static int valueOf(int code) {
+        return RANK_VALUES[code % RANKS.length];
+    }
+
+    private static int codeOf(String suit, String rank) {
+        int suitIndex = indexOf(SUITS, suit);
+        int rankIndex = indexOf(RANKS, rank);
+
+        if (suitIndex < 0 || rankIndex < 0) {
+            return UNKNOWN_CODE;
+        }
+        return suitIndex * RANKS.length + rankIndex;
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public int getValue() {
@@ -26,6 +73,10 @@ public class Card {
         return rank;
     }
 
+    public int getCode() {
+        return code;
+    }
+
     @Override
     public String toString() {
         return rank + suit;
@@ -1,41 +1,67 @@
 package com.github.dennismuehlegger.blackjack.game;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Player {
+    private static final int HIGHEST_SCORE = 21;
+    private static final int ACE_VALUE = 11;
+    private static final int ACE_REDUCTION = 10;
+
     private String name;
     private List<Card> hand;
+    private List<Card> handView;
     private boolean isOut;
     private boolean standing;
+    private int handValue;
+    private int aces;
+    private int softAces;
 
     public Player(String name) {
         this.name = name;
         this.hand = new ArrayList<>();
+        this.handView = Collections.unmodifiableList(hand);
         this.isOut = false;
     }
 
+    // Counting an ace as 1 only once the hand would bust gives the same value as summing the whole hand
+    // and reducing aces afterwards, because the running total never decreases between two reductions.
     public void addCard(Card card) {
         hand.add(card);
-    }
-
-    public int getHandValue() {
-        int value = 0;
-        int aces = 0;
+        handValue += card.getValue();
 
-        for (Card card : hand) {
-            value += card.getValue();
-            if (card.getValue() == 11) {
-                aces++;
-            }
+        if (card.getValue() == ACE_VALUE) {
+            aces++;
+            softAces++;
         }
 
-        while (value > 21 && aces > 0) {
-            value -= 10;
-            aces--;
+        while (handValue > HIGHEST_SCORE && softAces > 0) {
+            handValue -= ACE_REDUCTION;
+            softAces--;
         }
+    }
+
+    // Makes the player ready for the next game at the same table, keeping the hand list and its capacity.
+    public void reset() {
+        hand.clear();
+        handValue = 0;
+        aces = 0;
+        softAces = 0;
+        isOut = false;
+        standing = false;
+    }
+
+    public int getHandValue() {
+        return handValue;
+    }
+
+    public int getAces() {
+        return aces;
+    }
 
-        return value;
+    public boolean isSoft() {
+        return softAces > 0;
     }
 
     public String getFullHand() {
@@ -50,8 +76,10 @@ public class Player {
         return handStr.toString();
     }
 
+    // A read-only view: cards only come in through addCard and go out through reset, which keep the incremental
+    // hand value in step. Adding or removing cards through the list throws UnsupportedOperationException.
     public List<Card> getHand() {
-        return hand;
+        return handView;
     }
 
     public String getName() {
@@ -67,7 +95,7 @@ public class Player {
     }
 
     public boolean isBusted() {
-        return getHandValue() > 21;
+        return handValue > HIGHEST_SCORE;
     }
 
     public boolean isStanding() {
@@ -79,7 +107,7 @@ public class Player {
     }
 
     public boolean hasHighScore() {
-        return getHandValue() == 21;
+        return handValue == HIGHEST_SCORE;
     }
 
     @Override
@@ -0,0 +1,72 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.simulation.Simulator;
+
+import java.util.Collections;
+import java.util.List;
+
+// Plays a recorded game again through the same Simulator code that produced it: the seed restores the
+// cards and the recorded decisions are fed back as the strategy of every seat. Not thread-safe, use one
+// replayer per thread.
+public class GameReplayer {
+    private final Simulator[] simulators = new Simulator[RoundLogic.MAX_PLAYERS + 1];
+    private final int[] simulatorDecks = new int[RoundLogic.MAX_PLAYERS + 1];
+    private final RecordedDecisions decisions = new RecordedDecisions();
+    private Simulator lastSimulator;
+
+    public Winner replay(RecordedGame game) {
+        decisions.load(game.decisions);
+        lastSimulator = simulatorFor(game.players, game.decks);
+        Winner result = lastSimulator.playRound(game.seed);
+
+        if (decisions.next != game.decisions.length) {
+            throw new IllegalStateException("Game " + game.index + " ended before all recorded decisions were used");
+        }
+        return result;
+    }
+
+    // The seats of the last replayed game, in the order the winner mask of a record refers to them.
+    public List<Player> getPlayers() {
+        return lastSimulator != null ? lastSimulator.getPlayers() : List.of();
+    }
+
+    private Simulator simulatorFor(int players, int decks) {
+        if (players < RoundLogic.MIN_PLAYERS || players > RoundLogic.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A recorded game cannot have " + players + " players");
+        }
+
+        if (simulators[players] == null || simulatorDecks[players] != decks) {
+            simulators[players] = new Simulator(decks, Collections.nCopies(players, decisions));
+            simulatorDecks[players] = decks;
+        }
+        return simulators[players];
+    }
+
+    private static class RecordedDecisions implements PlayerStrategy {
+        private byte[] decisions;
+        private int next;
+
+        private void load(byte[] decisions) {
+            this.decisions = decisions;
+            this.next = 0;
+        }
+
+        @Override
+        public boolean shouldHit(Player player, List<Player> players, int round) {
+            if (next == decisions.length) {
+                throw new IllegalStateException("The replay asked for more decisions than were recorded");
+            }
+
+            int decision = decisions[next++];
+            if (decision >>> 1 != players.indexOf(player)) {
+                throw new IllegalStateException("The replay asked seat " + players.indexOf(player)
+                        + " but seat " + (decision >>> 1) + " decided next");
+            }
+            return (decision & 1) == 1;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Replays every game of a log on a thread pool and reports the games whose winners or winning score differ
+// from the recorded ones. The reader thread copies records into batches; a semaphore keeps it at most two
+// batches per thread ahead, so logs of any size are verified in constant memory.
+public class LogVerifier {
+    private static final int BATCH_SIZE = 4_096;
+    private static final int MAX_EXAMPLES = 20;
+
+    private final int threads;
+
+    public LogVerifier(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed");
+        }
+        this.threads = threads;
+    }
+
+    public VerificationResult verify(Path path) throws IOException, InterruptedException {
+        AtomicLong mismatches = new AtomicLong();
+        List<String> examples = new ArrayList<>();
+        Semaphore batchesInFlight = new Semaphore(threads * 2);
+        ThreadLocal<GameReplayer> replayers = ThreadLocal.withInitial(GameReplayer::new);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        long start = System.nanoTime();
+        long games;
+        try (RoundLogReader reader = new RoundLogReader(path)) {
+            List<RecordedGame> batch = new ArrayList<>(BATCH_SIZE);
+            long[] index = new long[1];
+
+            games = reader.forEach(record -> {
+                batch.add(RecordedGame.of(index[0]++, record));
+                if (batch.size() == BATCH_SIZE) {
+                    submit(executor, batchesInFlight, new ArrayList<>(batch), replayers, mismatches, examples);
+                    batch.clear();
+                }
+            });
+            submit(executor, batchesInFlight, batch, replayers, mismatches, examples);
+        } finally {
+            executor.shutdown();
+        }
+
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        synchronized (examples) {
+            return new VerificationResult(games, mismatches.get(), List.copyOf(examples), elapsed);
+        }
+    }
+
+    private void submit(ExecutorService executor, Semaphore batchesInFlight, List<RecordedGame> batch,
+                        ThreadLocal<GameReplayer> replayers, AtomicLong mismatches, List<String> examples) {
+        batchesInFlight.acquireUninterruptibly();
+        executor.execute(() -> {
+            try {
+                GameReplayer replayer = replayers.get();
+                for (RecordedGame game : batch) {
+                    String mismatch = check(replayer, game);
+                    if (mismatch != null) {
+                        mismatches.incrementAndGet();
+                        synchronized (examples) {
+                            if (examples.size() < MAX_EXAMPLES) {
+                                examples.add(mismatch);
+                            }
+                        }
+                    }
+                }
+            } finally {
+                batchesInFlight.release();
+            }
+        });
+    }
+
+    private static String check(GameReplayer replayer, RecordedGame game) {
+        Winner result;
+        try {
+            result = replayer.replay(game);
+        } catch (RuntimeException e) {
+            return "game " + game.index + ": " + e.getMessage();
+        }
+
+        List<Player> players = replayer.getPlayers();
+        int winnerMask = 0;
+        for (Player winner : result.winners) {
+            winnerMask |= 1 << players.indexOf(winner);
+        }
+
+        if (winnerMask != game.winnerMask || result.highestScore != game.highestScore) {
+            return String.format("game %d (seed %d): recorded winners %s with %d, replayed %s with %d", game.index,
+                    game.seed, Integer.toBinaryString(game.winnerMask), game.highestScore,
+                    Integer.toBinaryString(winnerMask), result.highestScore);
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path path = Path.of(args.length > 0 ? args[0] : "rounds.log");
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println(new LogVerifier(threads).verify(path));
+    }
+}
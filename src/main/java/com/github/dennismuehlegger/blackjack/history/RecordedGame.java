@@ -0,0 +1,45 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+// A copy of everything a replay needs from one record, small enough to hand to another thread.
+public class RecordedGame {
+    public final long index;
+    public final long seed;
+    public final int decks;
+    public final int players;
+    public final int highestScore;
+    public final int winnerMask;
+    // One entry per decision in play order: seat << 1 | 1 for a hit, seat << 1 for a stand.
+    public final byte[] decisions;
+
+    public RecordedGame(long index, long seed, int decks, int players, int highestScore, int winnerMask, byte[] decisions) {
+        this.index = index;
+        this.seed = seed;
+        this.decks = decks;
+        this.players = players;
+        this.highestScore = highestScore;
+        this.winnerMask = winnerMask;
+        this.decisions = decisions;
+    }
+
+    public static RecordedGame of(long index, RoundRecord record) {
+        int events = record.eventCount();
+        int decisionCount = 0;
+        for (int event = 0; event < events; event++) {
+            if (record.eventType(event) != RoundRecord.DEAL) {
+                decisionCount++;
+            }
+        }
+
+        byte[] decisions = new byte[decisionCount];
+        int decision = 0;
+        for (int event = 0; event < events; event++) {
+            int type = record.eventType(event);
+            if (type != RoundRecord.DEAL) {
+                decisions[decision++] = (byte) (record.eventSeat(event) << 1 | (type == RoundRecord.HIT ? 1 : 0));
+            }
+        }
+
+        return new RecordedGame(index, record.seed(), record.decks(), record.players(), record.highestScore(),
+                record.winnerMask(), decisions);
+    }
+}
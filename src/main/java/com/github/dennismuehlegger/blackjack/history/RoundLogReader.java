@@ -0,0 +1,94 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Maps the log file window by window and hands out the same RoundRecord view for every record. A window
+// always starts at a record boundary, so logs beyond the 2 GB limit of a single mapping can be read as well.
+public class RoundLogReader implements AutoCloseable {
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+
+    public RoundLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+
+        try {
+            RoundLogWriter.checkHeader(path,
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, RoundLogWriter.FILE_HEADER_SIZE)));
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long forEach(Consumer<RoundRecord> action) throws IOException {
+        RoundRecord record = new RoundRecord();
+        long records = 0;
+        long position = RoundLogWriter.FILE_HEADER_SIZE;
+
+        while (position < size) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            int offset = 0;
+
+            while (offset + Integer.BYTES <= window.limit()) {
+                int length = window.getInt(offset);
+                if (length < RoundRecord.HEADER_SIZE) {
+                    throw new IllegalStateException("Corrupt record at byte " + (position + offset));
+                }
+                if (offset + length > window.limit()) {
+                    break;
+                }
+
+                record.moveTo(window, offset);
+                action.accept(record);
+                offset += length;
+                records++;
+            }
+
+            if (offset == 0) {
+                throw new IllegalStateException("Truncated record at byte " + position);
+            }
+            position += offset;
+        }
+
+        return records;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Path.of(args.length > 0 ? args[0] : "rounds.log");
+
+        try (RoundLogReader reader = new RoundLogReader(path)) {
+            long[] outcomes = new long[RoundRecord.WINNER_DETERMINED + 1];
+            long[] events = new long[1];
+
+            long start = System.nanoTime();
+            long records = reader.forEach(record -> {
+                outcomes[record.outcome()]++;
+                events[0] += record.eventCount();
+            });
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("Scanned %,d games (%,d events, %,d bytes) in %.3f s (%,.0f games/s, %,.1f MB/s)%n",
+                    records, events[0], reader.size(), seconds, records / seconds, reader.size() / seconds / 1_000_000);
+            System.out.printf("Immediate wins: %,d, last player standing: %,d, all busted: %,d, highest score: %,d%n",
+                    outcomes[RoundRecord.IMMEDIATE_WIN], outcomes[RoundRecord.LAST_PLAYER_STANDING],
+                    outcomes[RoundRecord.ALL_BUSTED], outcomes[RoundRecord.WINNER_DETERMINED]);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends finished games to a log file. Records are collected in a direct buffer and written in large
+// chunks, so logging costs a few bytes of copying per game and one system call per buffer.
+public class RoundLogWriter implements AutoCloseable {
+    static final int MAGIC = 0x424A524C;
+    static final int FILE_HEADER_SIZE = 8;
+    static final short VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long records;
+
+    public RoundLogWriter(Path path) throws IOException {
+        // Records appended behind anything but a header of this version could never be read back.
+        if (Files.exists(path) && Files.size(path) > 0) {
+            try (FileChannel existing = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+                existing.read(header, 0);
+                checkHeader(path, header.flip());
+            }
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        }
+    }
+
+    static void checkHeader(Path path, ByteBuffer header) {
+        if (header.remaining() < FILE_HEADER_SIZE || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(path + " is not a round log");
+        }
+        if (header.getShort(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException(path + " is a round log of version " + header.getShort(Integer.BYTES)
+                    + ", only version " + VERSION + " can be read");
+        }
+    }
+
+    public void append(long seed, int numDecks, RoundRecorder recorder) throws IOException {
+        if (numDecks < 1 || numDecks > RoundRecord.MAX_DECKS) {
+            throw new IllegalArgumentException("Between 1 and " + RoundRecord.MAX_DECKS + " decks can be logged");
+        }
+        if (!recorder.isFinished()) {
+            throw new IllegalStateException("Only finished games can be logged");
+        }
+
+        int eventBytes = recorder.getEventCount() * RoundRecord.EVENT_SIZE;
+        int length = RoundRecord.HEADER_SIZE + eventBytes;
+        if (recorder.getEventCount() > RoundRecord.MAX_EVENTS || length > buffer.capacity()) {
+            throw new IllegalArgumentException("A game with " + recorder.getEventCount() + " events does not fit into a record");
+        }
+        if (buffer.remaining() < length) {
+            flush();
+        }
+
+        buffer.putInt(length)
+                .putLong(seed)
+                .put((byte) numDecks)
+                .put((byte) recorder.getPlayerCount())
+                .put((byte) recorder.getRounds())
+                .put((byte) recorder.getOutcome())
+                .put((byte) recorder.getHighestScore())
+                .put((byte) recorder.getWinnerMask())
+                .putShort((short) recorder.getEventCount())
+                .put(recorder.getEvents(), 0, eventBytes);
+        records++;
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import java.nio.ByteBuffer;
+
+// A view of one record inside a mapped log file. The reader moves the same view from record to record, so
+// nothing is copied; keep the values you need before the next record is read.
+//
+// Record layout: int length, long seed, byte decks, byte players, byte rounds, byte outcome,
+// byte highest score, byte winner mask (bit per seat), short event count, then two bytes per event:
+// type << SEAT_BITS | seat, followed by the card code (0 for a stand).
+public class RoundRecord {
+    public static final int DEAL = 0;
+    public static final int HIT = 1;
+    public static final int STAND = 2;
+
+    public static final int IMMEDIATE_WIN = 0;
+    public static final int LAST_PLAYER_STANDING = 1;
+    public static final int ALL_BUSTED = 2;
+    public static final int WINNER_DETERMINED = 3;
+
+    // The byte and short fields are unsigned.
+    public static final int MAX_DECKS = 0xFF;
+    public static final int MAX_EVENTS = 0xFFFF;
+
+    static final int SEAT_BITS = 3;
+    static final int HEADER_SIZE = 20;
+    static final int EVENT_SIZE = 2;
+
+    private static final int SEED = 4;
+    private static final int DECKS = 12;
+    private static final int PLAYERS = 13;
+    private static final int ROUNDS = 14;
+    private static final int OUTCOME = 15;
+    private static final int HIGHEST_SCORE = 16;
+    private static final int WINNER_MASK = 17;
+    private static final int EVENT_COUNT = 18;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    void moveTo(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public int length() {
+        return buffer.getInt(offset);
+    }
+
+    public long seed() {
+        return buffer.getLong(offset + SEED);
+    }
+
+    public int decks() {
+        return Byte.toUnsignedInt(buffer.get(offset + DECKS));
+    }
+
+    public int players() {
+        return Byte.toUnsignedInt(buffer.get(offset + PLAYERS));
+    }
+
+    public int rounds() {
+        return Byte.toUnsignedInt(buffer.get(offset + ROUNDS));
+    }
+
+    public int outcome() {
+        return Byte.toUnsignedInt(buffer.get(offset + OUTCOME));
+    }
+
+    public int highestScore() {
+        return Byte.toUnsignedInt(buffer.get(offset + HIGHEST_SCORE));
+    }
+
+    public int winnerMask() {
+        return Byte.toUnsignedInt(buffer.get(offset + WINNER_MASK));
+    }
+
+    public boolean isWinner(int seat) {
+        return (winnerMask() & 1 << seat) != 0;
+    }
+
+    public int eventCount() {
+        return Short.toUnsignedInt(buffer.getShort(offset + EVENT_COUNT));
+    }
+
+    public int eventType(int event) {
+        return Byte.toUnsignedInt(buffer.get(eventOffset(event))) >>> SEAT_BITS;
+    }
+
+    public int eventSeat(int event) {
+        return Byte.toUnsignedInt(buffer.get(eventOffset(event))) & ((1 << SEAT_BITS) - 1);
+    }
+
+    public int eventCard(int event) {
+        return Byte.toUnsignedInt(buffer.get(eventOffset(event) + 1));
+    }
+
+    private int eventOffset(int event) {
+        return offset + HEADER_SIZE + event * EVENT_SIZE;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Collects the events of one game in a reusable byte array, two bytes per event, ready to be appended to a
+// RoundLogWriter once the game has ended.
+public class RoundRecorder implements GameListener {
+    private final List<Player> players;
+    private byte[] events;
+    private int eventCount;
+    private int rounds;
+    private int outcome;
+    private int highestScore;
+    private int winnerMask;
+    private boolean finished;
+
+    public RoundRecorder(List<Player> players) {
+        this.players = players;
+        this.events = new byte[64];
+    }
+
+    public void reset() {
+        eventCount = 0;
+        rounds = 0;
+        outcome = 0;
+        highestScore = 0;
+        winnerMask = 0;
+        finished = false;
+    }
+
+    @Override
+    public void onCardDealt(Player player, Card card) {
+        addEvent(RoundRecord.DEAL, player, card.getCode());
+    }
+
+    @Override
+    public void onRoundStarted(int round) {
+        rounds = round;
+    }
+
+    @Override
+    public void onHit(Player player, Card card) {
+        addEvent(RoundRecord.HIT, player, card.getCode());
+    }
+
+    @Override
+    public void onStand(Player player) {
+        addEvent(RoundRecord.STAND, player, 0);
+    }
+
+    @Override
+    public void onImmediateWin(Winner result, List<Player> players) {
+        finish(RoundRecord.IMMEDIATE_WIN, result.winners, result.highestScore);
+    }
+
+    @Override
+    public void onLastPlayerStanding(Player winner, List<Player> players) {
+        finish(RoundRecord.LAST_PLAYER_STANDING, List.of(winner), winner.getHandValue());
+    }
+
+    @Override
+    public void onAllBusted(List<Player> players) {
+        finish(RoundRecord.ALL_BUSTED, List.of(), 0);
+    }
+
+    @Override
+    public void onWinnerDetermined(Winner result, List<Player> players) {
+        finish(RoundRecord.WINNER_DETERMINED, result.winners, result.highestScore);
+    }
+
+    private void addEvent(int type, Player player, int cardCode) {
+        if (eventCount * 2 == events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+
+        events[eventCount * 2] = (byte) (type << RoundRecord.SEAT_BITS | players.indexOf(player));
+        events[eventCount * 2 + 1] = (byte) cardCode;
+        eventCount++;
+    }
+
+    private void finish(int outcome, List<Player> winners, int highestScore) {
+        this.outcome = outcome;
+        this.highestScore = highestScore;
+        this.winnerMask = 0;
+        for (Player winner : winners) {
+            winnerMask |= 1 << players.indexOf(winner);
+        }
+        this.finished = true;
+    }
+
+    byte[] getEvents() {
+        return events;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getOutcome() {
+        return outcome;
+    }
+
+    public int getHighestScore() {
+        return highestScore;
+    }
+
+    public int getWinnerMask() {
+        return winnerMask;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.dennismuehlegger.blackjack.history;
+
+import java.util.List;
+
+public class VerificationResult {
+    public final long games;
+    public final long mismatches;
+    // The first mismatches only, a broken log should not fill the heap with messages.
+    public final List<String> examples;
+    public final long elapsedNanos;
+
+    public VerificationResult(long games, long mismatches, List<String> examples, long elapsedNanos) {
+        this.games = games;
+        this.mismatches = mismatches;
+        this.examples = examples;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double gamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games replayed: %,d in %.3f s (%,.0f games/s)%n",
+                games, elapsedNanos / 1_000_000_000.0, gamesPerSecond()));
+        report.append(String.format("Mismatches: %,d", mismatches));
+
+        for (String example : examples) {
+            report.append(System.lineSeparator()).append("  ").append(example);
+        }
+        return report.toString();
+    }
+}
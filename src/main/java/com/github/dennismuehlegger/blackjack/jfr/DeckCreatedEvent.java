@@ -0,0 +1,21 @@
+package com.github.dennismuehlegger.blackjack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blackjack.DeckCreated")
+@Label("Deck Created")
+@Category("Blackjack")
+@Description("The shoe was filled with fresh decks")
+@StackTrace(false)
+public class DeckCreatedEvent extends Event {
+    @Label("Decks")
+    public int decks;
+
+    @Label("Cards")
+    public int cards;
+}
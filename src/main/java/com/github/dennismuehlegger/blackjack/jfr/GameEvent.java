@@ -0,0 +1,29 @@
+package com.github.dennismuehlegger.blackjack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Spans one game from the initial deal to the result, so a recording shows which games overlap a GC pause.
+@Name("blackjack.Game")
+@Label("Game")
+@Category("Blackjack")
+@Description("One game from the initial deal to the result")
+@StackTrace(false)
+public class GameEvent extends Event {
+    @Label("Players")
+    public int players;
+
+    @Label("Rounds")
+    public int rounds;
+
+    @Label("Winner Seats")
+    @Description("Bit mask of the winning seats")
+    public int winnerSeats;
+
+    @Label("Winning Score")
+    public int winningScore;
+}
@@ -0,0 +1,31 @@
+package com.github.dennismuehlegger.blackjack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blackjack.Turn")
+@Label("Turn")
+@Category("Blackjack")
+@Description("One player's turn including the decision")
+@StackTrace(false)
+public class TurnEvent extends Event {
+    public static final String HIT = "HIT";
+    public static final String STAND = "STAND";
+    public static final String BUST = "BUST";
+
+    @Label("Player")
+    public String player;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Action")
+    public String action;
+
+    @Label("Hand Value")
+    public int handValue;
+}
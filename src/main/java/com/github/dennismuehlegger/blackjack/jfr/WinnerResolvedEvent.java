@@ -0,0 +1,24 @@
+package com.github.dennismuehlegger.blackjack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("blackjack.WinnerResolved")
+@Label("Winner Resolved")
+@Category("Blackjack")
+@Description("The result of a game was decided")
+@StackTrace(false)
+public class WinnerResolvedEvent extends Event {
+    @Label("Winners")
+    public String winners;
+
+    @Label("Winning Score")
+    public int winningScore;
+
+    @Label("Round")
+    public int round;
+}
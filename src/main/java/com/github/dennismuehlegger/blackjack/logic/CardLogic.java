@@ -2,38 +2,47 @@ package com.github.dennismuehlegger.blackjack.logic;
 
 import com.github.dennismuehlegger.blackjack.game.Card;
 import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.jfr.DeckCreatedEvent;
 
+import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 public class CardLogic {
     private static final int MIN_DECK = 1;
     private static final int MAX_DECK = 8;
     private static final int DEAL_DELAY_MS = 1000;
-    private static final int HAND_SEPARATOR_LENGTH = 30;
-    private static final String[] SUITS = {"♠", "♥", "♦", "♣"};
 
-    private static final int MIN_NUMBER_VALUE = 2;
-    private static final int MAX_NUMBER_VALUE = 9;
-    private static final int FACE_CARD_VALUE = 10;
-    private static final int ACE_VALUE = 11;
-
-    private final List<Card> deck;
+    private final Shoe shoe;
     private final List<Player> players;
     private final Scanner scanner;
-    private Random random;
+    private RandomGenerator random;
+    private GameListener listener;
+    private DealPacing dealPacing;
+    private GameMetrics metrics;
 
     public CardLogic(List<Card> deck, List<Player> players) {
         this(deck, players, new Scanner(System.in));
     }
 
     public CardLogic(List<Card> deck, List<Player> players, Scanner scanner) {
-        this.deck = deck;
+        this(new ListShoe(deck), players, scanner);
+    }
+
+    public CardLogic(Shoe shoe, List<Player> players) {
+        this(shoe, players, new Scanner(System.in));
+    }
+
+    public CardLogic(Shoe shoe, List<Player> players, Scanner scanner) {
+        this.shoe = shoe;
         this.players = players;
         this.scanner = scanner;
-        this.random = new Random();
+        this.random = RandomStreams.unseeded();
+        this.dealPacing = DealPacing.fixed(DEAL_DELAY_MS);
+        this.listener = new ConsoleRenderer();
+        this.metrics = GameMetrics.NONE;
     }
 
     public void createDeck() {
@@ -70,97 +79,136 @@ public class CardLogic {
     }
 
     public void fillDeck(int numDecks) {
-        for (int i = 0; i < numDecks; i++) {
-            addSingleDeckToDeck();
+        shoe.fill(numDecks);
+
+        DeckCreatedEvent event = new DeckCreatedEvent();
+        if (event.isEnabled()) {
+            event.decks = numDecks;
+            event.cards = shoe.size();
+            event.commit();
         }
     }
 
-    private void addSingleDeckToDeck() {
-        for (String suit : SUITS) {
-            addNumberCards(suit);
-            addFaceCards(suit);
-        }
+    public void reshuffle() {
+        shoe.reshuffle();
     }
 
-    private void addNumberCards(String suit) {
-        for (int value = MIN_NUMBER_VALUE; value <= MAX_NUMBER_VALUE; value++) {
-            deck.add(new Card(value, suit, String.valueOf(value)));
+    public boolean shuffleIfCutCardReached() {
+        shoe.discardHands();
+        if (!shoe.isCutCardReached()) {
+            return false;
         }
-    }
 
-    private void addFaceCards(String suit) {
-        deck.add(new Card(FACE_CARD_VALUE, suit, "10"));
-        deck.add(new Card(FACE_CARD_VALUE, suit, "J"));
-        deck.add(new Card(FACE_CARD_VALUE, suit, "Q"));
-        deck.add(new Card(FACE_CARD_VALUE, suit, "K"));
-        deck.add(new Card(ACE_VALUE, suit, "A"));
+        shoe.reshuffle();
+        listener.onShoeShuffled();
+        return true;
     }
 
     public Card drawCard() {
-        int index = random.nextInt(deck.size());
-        return deck.remove(index);
+        if (metrics == GameMetrics.NONE) {
+            return shoe.draw(random);
+        }
+
+        long start = System.nanoTime();
+        Card card = shoe.draw(random);
+        metrics.record(GameTimer.DRAW_CARD, System.nanoTime() - start);
+        return card;
     }
 
     public void dealInitialCards() throws InterruptedException {
+        if (metrics == GameMetrics.NONE) {
+            deal();
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            deal();
+        } finally {
+            metrics.record(GameTimer.DEAL_INITIAL_CARDS, System.nanoTime() - start);
+        }
+    }
+
+    private void deal() throws InterruptedException {
         dealRound("First deal");
         dealRound("Second deal");
 
-        printHandSeparator();
-        showAllHands();
+        if (listener == GameListener.NONE) {
+            return;
+        }
+
+        // Only a deferred announcement needs a copy, a synchronous one shows the hands before anybody hits.
+        List<Player> hands = dealPacing.isAsynchronous() ? snapshotHands() : players;
+        dealPacing.announce(() -> {
+            listener.onInitialDealFinished();
+            listener.onHandsShown(hands);
+        });
+
+        // The turns send their events from this thread, so they may only start once the paced announcements
+        // are out; the listener is never called from two threads at once.
+        dealPacing.awaitIdle();
+    }
+
+    // The hands as dealt, formatted once the deal is finished however late the pacing shows them.
+    private List<Player> snapshotHands() {
+        List<Player> hands = new ArrayList<>(players.size());
+        for (Player player : players) {
+            Player hand = new Player(player.getName());
+            for (Card card : player.getHand()) {
+                hand.addCard(card);
+            }
+            hand.setOut(player.isOut());
+            hand.setStanding(player.isStanding());
+            hands.add(hand);
+        }
+        return hands;
     }
 
     private void dealRound(String roundName) throws InterruptedException {
-        System.out.println("--- " + roundName + " ---");
+        // Nobody watches the deal, so there is nothing to announce or to pace.
+        if (listener == GameListener.NONE) {
+            for (Player player : players) {
+                player.addCard(drawCard());
+            }
+            return;
+        }
+
+        dealPacing.announce(() -> listener.onDealStarted(roundName));
 
         for (Player player : players) {
             dealCardToPlayer(player);
         }
 
-        System.out.println();
+        dealPacing.announce(listener::onDealFinished);
     }
 
     private void dealCardToPlayer(Player player) throws InterruptedException {
         Card card = drawCard();
         player.addCard(card);
-        System.out.println(player + " gets: " + card);
-        Thread.sleep(DEAL_DELAY_MS);
-    }
-
-    private void printHandSeparator() {
-        System.out.println("=".repeat(HAND_SEPARATOR_LENGTH));
+        dealPacing.announceCard(() -> listener.onCardDealt(player, card));
     }
 
     public void showAllHands() {
-        System.out.println("\n=== Current hand ===");
-
-        for (Player player : players) {
-            printPlayerHand(player);
-        }
-
-        System.out.println();
+        listener.onHandsShown(players);
     }
 
-    private void printPlayerHand(Player player) {
-        String status = getPlayerStatus(player);
-        System.out.printf("%s: %d%s%n", player.getName(), player.getHandValue(), status);
+    public List<Card> getDeck() {
+        return shoe.getCards();
     }
 
-    private String getPlayerStatus(Player player) {
-        if (player.isOut()) {
-            return " (Busted)";
-        } else if (player.isStanding()) {
-            return " (Standing)";
+    public void setDeck(List<Card> deck) {
+        shoe.clear();
+        for (Card card : deck) {
+            shoe.add(card);
         }
-        return "";
     }
 
-    public List<Card> getDeck() {
-        return deck;
+    public void clearDeck() {
+        shoe.clear();
     }
 
-    public void setDeck(List<Card> deck) {
-        this.deck.clear();
-        this.deck.addAll(deck);
+    public Shoe getShoe() {
+        return shoe;
     }
 
     public List<Player> getPlayers() {
@@ -172,11 +220,35 @@ public class CardLogic {
         this.players.addAll(players);
     }
 
-    public Random getRandom() {
+    public RandomGenerator getRandom() {
         return random;
     }
 
-    public void setRandom(Random random) {
+    public void setRandom(RandomGenerator random) {
         this.random = random;
     }
+
+    public DealPacing getDealPacing() {
+        return dealPacing;
+    }
+
+    public void setDealPacing(DealPacing dealPacing) {
+        this.dealPacing = dealPacing;
+    }
+
+    public GameListener getListener() {
+        return listener;
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
 }
@@ -0,0 +1,135 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+
+import java.util.List;
+
+public class CompositeListener implements GameListener {
+    private final GameListener[] listeners;
+
+    public CompositeListener(GameListener... listeners) {
+        this.listeners = listeners.clone();
+    }
+
+    // Avoids the extra dispatch when only one listener (or none) is left.
+    public static GameListener of(List<GameListener> listeners) {
+        if (listeners.isEmpty()) {
+            return GameListener.NONE;
+        }
+        return listeners.size() == 1 ? listeners.get(0) : new CompositeListener(listeners.toArray(new GameListener[0]));
+    }
+
+    @Override
+    public void onShoeShuffled() {
+        for (GameListener listener : listeners) {
+            listener.onShoeShuffled();
+        }
+    }
+
+    @Override
+    public void onDealStarted(String dealName) {
+        for (GameListener listener : listeners) {
+            listener.onDealStarted(dealName);
+        }
+    }
+
+    @Override
+    public void onCardDealt(Player player, Card card) {
+        for (GameListener listener : listeners) {
+            listener.onCardDealt(player, card);
+        }
+    }
+
+    @Override
+    public void onDealFinished() {
+        for (GameListener listener : listeners) {
+            listener.onDealFinished();
+        }
+    }
+
+    @Override
+    public void onInitialDealFinished() {
+        for (GameListener listener : listeners) {
+            listener.onInitialDealFinished();
+        }
+    }
+
+    @Override
+    public void onHandsShown(List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onHandsShown(players);
+        }
+    }
+
+    @Override
+    public void onRoundStarted(int round) {
+        for (GameListener listener : listeners) {
+            listener.onRoundStarted(round);
+        }
+    }
+
+    @Override
+    public void onTurnStarted(Player player) {
+        for (GameListener listener : listeners) {
+            listener.onTurnStarted(player);
+        }
+    }
+
+    @Override
+    public void onHit(Player player, Card card) {
+        for (GameListener listener : listeners) {
+            listener.onHit(player, card);
+        }
+    }
+
+    @Override
+    public void onHighScore(Player player) {
+        for (GameListener listener : listeners) {
+            listener.onHighScore(player);
+        }
+    }
+
+    @Override
+    public void onBust(Player player) {
+        for (GameListener listener : listeners) {
+            listener.onBust(player);
+        }
+    }
+
+    @Override
+    public void onStand(Player player) {
+        for (GameListener listener : listeners) {
+            listener.onStand(player);
+        }
+    }
+
+    @Override
+    public void onImmediateWin(Winner result, List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onImmediateWin(result, players);
+        }
+    }
+
+    @Override
+    public void onLastPlayerStanding(Player winner, List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onLastPlayerStanding(winner, players);
+        }
+    }
+
+    @Override
+    public void onAllBusted(List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onAllBusted(players);
+        }
+    }
+
+    @Override
+    public void onWinnerDetermined(Winner result, List<Player> players) {
+        for (GameListener listener : listeners) {
+            listener.onWinnerDetermined(result, players);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+
+import java.io.PrintStream;
+import java.util.List;
+
+// Collects the lines of an event batch and writes them at once whenever the table waits for a player or a
+// paced card, instead of one synchronized println per line.
+public class ConsoleRenderer implements GameListener {
+    private static final int SEPARATOR_LENGTH = 40;
+    private static final int HAND_SEPARATOR_LENGTH = 30;
+    private static final int HIGHEST_SCORE = 21;
+    private static final String SEPARATOR = "=".repeat(SEPARATOR_LENGTH);
+    private static final String HAND_SEPARATOR = "=".repeat(HAND_SEPARATOR_LENGTH);
+
+    private final PrintStream out;
+    private final StringBuilder buffer;
+
+    public ConsoleRenderer() {
+        this(System.out);
+    }
+
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+        this.buffer = new StringBuilder();
+    }
+
+    @Override
+    public void onShoeShuffled() {
+        line("--- Cut card reached, shuffling the shoe ---");
+    }
+
+    @Override
+    public void onDealStarted(String dealName) {
+        line("--- " + dealName + " ---");
+    }
+
+    @Override
+    public void onCardDealt(Player player, Card card) {
+        line(player + " gets: " + card);
+        flush();
+    }
+
+    @Override
+    public void onDealFinished() {
+        line("");
+    }
+
+    @Override
+    public void onInitialDealFinished() {
+        line(HAND_SEPARATOR);
+    }
+
+    @Override
+    public void onHandsShown(List<Player> players) {
+        line("\n=== Current hand ===");
+
+        for (Player player : players) {
+            line(player.getName() + ": " + player.getHandValue() + getPlayerStatus(player));
+        }
+
+        line("");
+        flush();
+    }
+
+    @Override
+    public void onRoundStarted(int round) {
+        line("\n" + SEPARATOR);
+        line("*** ROUND " + round + " ***");
+        line(SEPARATOR);
+    }
+
+    @Override
+    public void onTurnStarted(Player player) {
+        line("\n--- " + player + " turn ---");
+        line("Current hand: " + player.getHandValue());
+        flush();
+    }
+
+    @Override
+    public void onHit(Player player, Card card) {
+        line("\n" + player + " draws: " + card);
+        line("New hand: " + player.getHandValue());
+    }
+
+    @Override
+    public void onHighScore(Player player) {
+        line(player + " has exactly " + HIGHEST_SCORE + "!");
+    }
+
+    @Override
+    public void onBust(Player player) {
+        line(player + " is over " + HIGHEST_SCORE + " and busted!");
+    }
+
+    @Override
+    public void onStand(Player player) {
+        line(player + " stands (hand stays " + player.getHandValue() + ")");
+    }
+
+    @Override
+    public void onImmediateWin(Winner result, List<Player> players) {
+        showFinalHands(players);
+        line(SEPARATOR);
+
+        if (result.winners.size() == 1) {
+            line("*** " + result.winners.get(0) + " has " + HIGHEST_SCORE + " and wins! ***");
+        } else {
+            showTie(result);
+        }
+
+        line(SEPARATOR);
+        flush();
+    }
+
+    @Override
+    public void onLastPlayerStanding(Player winner, List<Player> players) {
+        showFinalHands(players);
+        line(SEPARATOR);
+        line("*** " + winner + " wins! ***");
+        line("Hand: " + winner.getHandValue());
+        line(SEPARATOR);
+        flush();
+    }
+
+    @Override
+    public void onAllBusted(List<Player> players) {
+        showFinalHands(players);
+        line(SEPARATOR);
+        line("All players busted. Nobody wins!");
+        line(SEPARATOR);
+        flush();
+    }
+
+    @Override
+    public void onWinnerDetermined(Winner result, List<Player> players) {
+        showFinalHands(players);
+        line(SEPARATOR);
+
+        if (result.winners.isEmpty()) {
+            line("No winners - all players busted!");
+        } else if (result.winners.size() == 1) {
+            line("*** " + result.winners.get(0) + " wins with " + result.highestScore + " points! ***");
+        } else {
+            showTie(result);
+        }
+
+        line(SEPARATOR);
+        flush();
+    }
+
+    private void showFinalHands(List<Player> players) {
+        line(SEPARATOR);
+        line("*** FINAL HANDS ***");
+        line(SEPARATOR);
+
+        for (Player player : players) {
+            line(player.getName() + ": " + player.getFullHand() + " = " + player.getHandValue() + getPlayerStatus(player));
+        }
+
+        line(SEPARATOR);
+    }
+
+    private void showTie(Winner result) {
+        line("*** TIE! ***");
+        buffer.append("Players with ").append(result.highestScore).append(": ");
+
+        for (int i = 0; i < result.winners.size(); i++) {
+            buffer.append(result.winners.get(i));
+            if (i < result.winners.size() - 1) {
+                buffer.append(", ");
+            }
+        }
+        line("");
+    }
+
+    private String getPlayerStatus(Player player) {
+        if (player.isOut()) {
+            return " (Busted)";
+        } else if (player.isStanding()) {
+            return " (Standing)";
+        }
+        return "";
+    }
+
+    private void line(String text) {
+        buffer.append(text).append(System.lineSeparator());
+    }
+
+    public void flush() {
+        out.print(buffer);
+        out.flush();
+        buffer.setLength(0);
+    }
+}
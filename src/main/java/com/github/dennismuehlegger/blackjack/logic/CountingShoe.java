@@ -0,0 +1,130 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Keeps one counter per distinct card instead of the cards themselves, so memory, filling and copying do not
+// grow with the number of decks. A draw picks the n-th remaining card for a uniform n and walks the 52
+// counters, which gives every remaining card the same probability as drawing from a list.
+public class CountingShoe implements Shoe {
+    private final int[] counts;
+    private final int[] filled;
+    private int size;
+    private int filledSize;
+
+    public CountingShoe() {
+        this.counts = new int[Card.DECK_SIZE];
+        this.filled = new int[Card.DECK_SIZE];
+    }
+
+    // Calls the private addDecks, an overridden fill would see a subclass that is not constructed yet.
+    public CountingShoe(int numDecks) {
+        this();
+        addDecks(numDecks);
+    }
+
+    private CountingShoe(CountingShoe other) {
+        this.counts = other.counts.clone();
+        this.filled = other.filled.clone();
+        this.size = other.size;
+        this.filledSize = other.filledSize;
+    }
+
+    @Override
+    public void add(Card card) {
+        if (card.getCode() == Card.UNKNOWN_CODE) {
+            throw new IllegalArgumentException("Only standard cards can be counted: " + card);
+        }
+        counts[card.getCode()]++;
+        filled[card.getCode()]++;
+        size++;
+        filledSize++;
+    }
+
+    @Override
+    public void fill(int numDecks) {
+        addDecks(numDecks);
+    }
+
+    private void addDecks(int numDecks) {
+        for (int code = 0; code < Card.DECK_SIZE; code++) {
+            counts[code] += numDecks;
+            filled[code] += numDecks;
+        }
+        size += numDecks * Card.DECK_SIZE;
+        filledSize += numDecks * Card.DECK_SIZE;
+    }
+
+    @Override
+    public Card draw(RandomGenerator random) {
+        int position = random.nextInt(size);
+
+        int code = 0;
+        while (position >= counts[code]) {
+            position -= counts[code];
+            code++;
+        }
+
+        counts[code]--;
+        size--;
+        return Card.of(code);
+    }
+
+    @Override
+    public void take(Card card) {
+        int code = card.getCode();
+        if (code == Card.UNKNOWN_CODE || counts[code] == 0) {
+            throw new IllegalArgumentException("The shoe does not hold " + card);
+        }
+        counts[code]--;
+        size--;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int count(int code) {
+        return counts[code];
+    }
+
+    @Override
+    public int[] getComposition() {
+        return counts.clone();
+    }
+
+    @Override
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>(size);
+        for (int code = 0; code < Card.DECK_SIZE; code++) {
+            for (int i = 0; i < counts[code]; i++) {
+                cards.add(Card.of(code));
+            }
+        }
+        return cards;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(filled, 0);
+        size = 0;
+        filledSize = 0;
+    }
+
+    @Override
+    public void reshuffle() {
+        System.arraycopy(filled, 0, counts, 0, counts.length);
+        size = filledSize;
+    }
+
+    @Override
+    public Shoe copy() {
+        return new CountingShoe(this);
+    }
+}
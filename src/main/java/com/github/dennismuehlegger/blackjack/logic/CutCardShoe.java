@@ -0,0 +1,141 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Keeps a shoe across rounds the way a dealer does: a cut card is placed after the given share of the cards
+// and the shoe is only reshuffled between rounds once it has been reached. Should a round empty the shoe
+// before that, only the discards of earlier rounds are shuffled back in; the cards of the running round stay
+// out, so no card can be dealt twice in one round.
+public class CutCardShoe implements Shoe {
+    private final Shoe shoe;
+    private final double penetration;
+    private final List<Card> inPlay = new ArrayList<>();
+    private int filledSize;
+    private int drawnSinceShuffle;
+    private long shuffles;
+
+    public CutCardShoe(Shoe shoe, double penetration) {
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Penetration must be greater than 0 and at most 1");
+        }
+
+        this.shoe = shoe;
+        this.penetration = penetration;
+        this.filledSize = shoe.size();
+    }
+
+    @Override
+    public void add(Card card) {
+        shoe.add(card);
+        filledSize++;
+    }
+
+    @Override
+    public void fill(int numDecks) {
+        shoe.fill(numDecks);
+        filledSize += numDecks * Card.DECK_SIZE;
+    }
+
+    @Override
+    public Card draw(RandomGenerator random) {
+        if (shoe.size() == 0) {
+            reshuffleDiscards();
+        }
+
+        drawnSinceShuffle++;
+        Card card = shoe.draw(random);
+        inPlay.add(card);
+        return card;
+    }
+
+    private void reshuffleDiscards() {
+        if (inPlay.size() >= filledSize) {
+            throw new IllegalStateException("Every card of the shoe is in play, there are no discards to shuffle");
+        }
+
+        shoe.reshuffle();
+        for (int i = 0; i < inPlay.size(); i++) {
+            shoe.take(inPlay.get(i));
+        }
+        drawnSinceShuffle = 0;
+        shuffles++;
+    }
+
+    @Override
+    public void take(Card card) {
+        shoe.take(card);
+        drawnSinceShuffle++;
+        inPlay.add(card);
+    }
+
+    @Override
+    public void discardHands() {
+        inPlay.clear();
+    }
+
+    @Override
+    public int size() {
+        return shoe.size();
+    }
+
+    @Override
+    public int[] getComposition() {
+        return shoe.getComposition();
+    }
+
+    @Override
+    public List<Card> getCards() {
+        return shoe.getCards();
+    }
+
+    @Override
+    public void clear() {
+        shoe.clear();
+        filledSize = 0;
+        drawnSinceShuffle = 0;
+        inPlay.clear();
+    }
+
+    @Override
+    public void reshuffle() {
+        shoe.reshuffle();
+        drawnSinceShuffle = 0;
+        shuffles++;
+        inPlay.clear();
+    }
+
+    @Override
+    public boolean isCutCardReached() {
+        return drawnSinceShuffle >= getCutCardPosition();
+    }
+
+    public int getCutCardPosition() {
+        return (int) Math.ceil(filledSize * penetration);
+    }
+
+    public int getCardsUntilCutCard() {
+        return Math.max(0, getCutCardPosition() - drawnSinceShuffle);
+    }
+
+    public double getPenetration() {
+        return penetration;
+    }
+
+    public long getShuffles() {
+        return shuffles;
+    }
+
+    @Override
+    public Shoe copy() {
+        CutCardShoe copy = new CutCardShoe(shoe.copy(), penetration);
+        copy.filledSize = filledSize;
+        copy.drawnSinceShuffle = drawnSinceShuffle;
+        copy.shuffles = shuffles;
+        copy.inPlay.addAll(inPlay);
+        return copy;
+    }
+}
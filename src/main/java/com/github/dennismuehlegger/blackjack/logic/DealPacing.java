@@ -0,0 +1,30 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+@FunctionalInterface
+public interface DealPacing {
+    void announceCard(Runnable announcement) throws InterruptedException;
+
+    default void announce(Runnable announcement) throws InterruptedException {
+        announcement.run();
+    }
+
+    // Returns once every announcement so far has run.
+    default void awaitIdle() throws InterruptedException {
+    }
+
+    // True when announcements may run after the call that made them returned.
+    default boolean isAsynchronous() {
+        return false;
+    }
+
+    static DealPacing none() {
+        return Runnable::run;
+    }
+
+    static DealPacing fixed(long delayMs) {
+        return announcement -> {
+            announcement.run();
+            Thread.sleep(delayMs);
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+public enum Decision {
+    HIT,
+    STAND
+}
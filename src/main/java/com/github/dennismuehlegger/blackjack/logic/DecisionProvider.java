@@ -0,0 +1,11 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface DecisionProvider {
+    CompletableFuture<Decision> requestDecision(Player player, List<Player> players, int round);
+}
@@ -0,0 +1,60 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+
+import java.util.List;
+
+public interface GameListener {
+    GameListener NONE = new GameListener() {
+    };
+
+    default void onShoeShuffled() {
+    }
+
+    default void onDealStarted(String dealName) {
+    }
+
+    default void onCardDealt(Player player, Card card) {
+    }
+
+    default void onDealFinished() {
+    }
+
+    default void onInitialDealFinished() {
+    }
+
+    default void onHandsShown(List<Player> players) {
+    }
+
+    default void onRoundStarted(int round) {
+    }
+
+    default void onTurnStarted(Player player) {
+    }
+
+    default void onHit(Player player, Card card) {
+    }
+
+    default void onHighScore(Player player) {
+    }
+
+    default void onBust(Player player) {
+    }
+
+    default void onStand(Player player) {
+    }
+
+    default void onImmediateWin(Winner result, List<Player> players) {
+    }
+
+    default void onLastPlayerStanding(Player winner, List<Player> players) {
+    }
+
+    default void onAllBusted(List<Player> players) {
+    }
+
+    default void onWinnerDetermined(Winner result, List<Player> players) {
+    }
+}
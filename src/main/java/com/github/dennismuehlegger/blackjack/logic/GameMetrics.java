@@ -0,0 +1,10 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+// Timed code checks for NONE before reading the clock, so disabled metrics cost one comparison per call.
+@FunctionalInterface
+public interface GameMetrics {
+    GameMetrics NONE = (timer, nanos) -> {
+    };
+
+    void record(GameTimer timer, long nanos);
+}
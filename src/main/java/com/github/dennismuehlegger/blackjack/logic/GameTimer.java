@@ -0,0 +1,20 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+public enum GameTimer {
+    DRAW_CARD("draw_card"),
+    DEAL_INITIAL_CARDS("deal_initial_cards"),
+    PLAY_TURN("play_turn"),
+    DECISION("decision"),
+    CHECK_WIN_CONDITION("check_win_condition"),
+    DETERMINE_WINNER("determine_winner");
+
+    private final String metricName;
+
+    GameTimer(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
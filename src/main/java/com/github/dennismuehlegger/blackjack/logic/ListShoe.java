@@ -0,0 +1,98 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public class ListShoe implements Shoe {
+    private final List<Card> cards;
+    private int drawn;
+
+    public ListShoe() {
+        this(new ArrayList<>());
+    }
+
+    public ListShoe(List<Card> cards) {
+        this.cards = cards;
+    }
+
+    @Override
+    public void add(Card card) {
+        cards.add(card);
+    }
+
+    @Override
+    public void fill(int numDecks) {
+        if (cards instanceof ArrayList<Card> list) {
+            list.ensureCapacity(cards.size() + numDecks * Card.DECK_SIZE);
+        }
+        Shoe.super.fill(numDecks);
+    }
+
+    // Partial Fisher-Yates shuffle: the picked card is swapped to the front of the remaining cards and the
+    // cursor moves past it, so every remaining card is drawn with probability 1 / remaining, exactly like
+    // removing a uniformly random card, but without shifting the list.
+    @Override
+    public Card draw(RandomGenerator random) {
+        int index = drawn + random.nextInt(cards.size() - drawn);
+        Card card = cards.get(index);
+        cards.set(index, cards.get(drawn));
+        cards.set(drawn, card);
+        drawn++;
+        return card;
+    }
+
+    @Override
+    public void take(Card card) {
+        for (int index = drawn; index < cards.size(); index++) {
+            if (cards.get(index) == card) {
+                cards.set(index, cards.get(drawn));
+                cards.set(drawn, card);
+                drawn++;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("The shoe does not hold " + card);
+    }
+
+    @Override
+    public int size() {
+        return cards.size() - drawn;
+    }
+
+    @Override
+    public int[] getComposition() {
+        int[] composition = new int[Card.DECK_SIZE];
+        for (int i = drawn; i < cards.size(); i++) {
+            int code = cards.get(i).getCode();
+            if (code != Card.UNKNOWN_CODE) {
+                composition[code]++;
+            }
+        }
+        return composition;
+    }
+
+    @Override
+    public List<Card> getCards() {
+        return cards.subList(drawn, cards.size());
+    }
+
+    @Override
+    public void clear() {
+        cards.clear();
+        drawn = 0;
+    }
+
+    // Draws pick uniformly among the cards behind the cursor, so moving the cursor back is a full reshuffle.
+    @Override
+    public void reshuffle() {
+        drawn = 0;
+    }
+
+    @Override
+    public Shoe copy() {
+        return new ListShoe(new ArrayList<>(getCards()));
+    }
+}
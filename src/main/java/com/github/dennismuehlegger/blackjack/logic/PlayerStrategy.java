@@ -0,0 +1,10 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface PlayerStrategy {
+    boolean shouldHit(Player player, List<Player> players, int round);
+}
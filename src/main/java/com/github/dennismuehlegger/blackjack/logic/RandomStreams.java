@@ -0,0 +1,31 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Child streams are split off one root generator in call order, so a simulation is reproducible from its master
+// seed as long as the streams are handed out by a single thread before the tables start.
+public class RandomStreams {
+    public static final String ALGORITHM = "L64X128MixRandom";
+
+    private static final RandomGeneratorFactory<SplittableGenerator> FACTORY = RandomGeneratorFactory.of(ALGORITHM);
+
+    private final SplittableGenerator root;
+
+    public RandomStreams(long masterSeed) {
+        this.root = FACTORY.create(masterSeed);
+    }
+
+    public RandomGenerator nextStream() {
+        return root.split();
+    }
+
+    public static RandomGenerator seeded(long seed) {
+        return FACTORY.create(seed);
+    }
+
+    public static RandomGenerator unseeded() {
+        return FACTORY.create();
+    }
+}
@@ -4,23 +4,35 @@ import com.github.dennismuehlegger.blackjack.game.BlackjackGame;
 import com.github.dennismuehlegger.blackjack.game.Card;
 import com.github.dennismuehlegger.blackjack.game.Player;
 import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.jfr.GameEvent;
+import com.github.dennismuehlegger.blackjack.jfr.TurnEvent;
+import com.github.dennismuehlegger.blackjack.jfr.WinnerResolvedEvent;
 
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
 import java.util.Scanner;
+import java.util.StringJoiner;
 
 public class RoundLogic {
-    private static final int SEPARATOR_LENGTH = 40;
-    private static final int MIN_PLAYERS = 2;
-    private static final int MAX_PLAYERS = 7;
-    private static final int HIGHEST_SCORE = 21;
-    private static final int MAX_ROUNDS = 5;
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 7;
+    public static final int HIGHEST_SCORE = 21;
+    public static final int MAX_ROUNDS = 5;
+    private static final String PLAYER_COUNT_MESSAGE =
+            "At least " + MIN_PLAYERS + " or maximum " + MAX_PLAYERS + " of players need to participate!";
 
     private final CardLogic cardLogic;
     private final BlackjackGame blackjackGame;
     private final List<Player> players;
     private final Scanner scanner;
+    private PlayerStrategy strategy;
+    private int currentRound = 1;
+    private int currentSeat;
+    private boolean hasResult;
+    private int winnerSeats;
+    private int winningScore;
+    private Winner result;
 
     public RoundLogic(CardLogic cardLogic, BlackjackGame game, List<Player> players) {
         this(cardLogic, game, players, new Scanner(System.in));
@@ -31,6 +43,7 @@ public class RoundLogic {
         this.blackjackGame = game;
         this.players = players;
         this.scanner = scanner;
+        this.strategy = (player, table, round) -> promptHitOrStand(player).equals("yes");
     }
 
     public void createPlayers() {
@@ -47,7 +60,7 @@ public class RoundLogic {
                 scanner.nextLine();
 
                 if (isInvalidPlayerCount(numPlayers)) {
-                    System.out.println("At least " + MIN_PLAYERS + " or maximum " + MAX_PLAYERS + " of players need to participate!");
+                    System.out.println(PLAYER_COUNT_MESSAGE);
                 }
             } catch (InputMismatchException e) {
                 System.out.println("Please enter a number!");
@@ -58,10 +71,16 @@ public class RoundLogic {
         return numPlayers;
     }
 
-    private boolean isInvalidPlayerCount(int count) {
+    private static boolean isInvalidPlayerCount(int count) {
         return count < MIN_PLAYERS || count > MAX_PLAYERS;
     }
 
+    public static void checkPlayerCount(int count) {
+        if (isInvalidPlayerCount(count)) {
+            throw new IllegalArgumentException(PLAYER_COUNT_MESSAGE);
+        }
+    }
+
     private void setPlayerNames(int numPlayers) {
         for (int i = 0; i < numPlayers; i++) {
             System.out.print("Please enter name of player " + (i + 1) + ": ");
@@ -71,13 +90,25 @@ public class RoundLogic {
         System.out.println();
     }
 
+    // Clears hands, flags and the result, keeping the players for the next game at this table.
+    public void reset() {
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).reset();
+        }
+        currentRound = 1;
+        clearResult();
+    }
+
     public void playRounds() {
+        clearResult();
+
         if (handleInitialHighScore()) {
             return;
         }
 
         for (int round = 1; round <= MAX_ROUNDS; round++) {
-            printRoundHeader(round);
+            currentRound = round;
+            cardLogic.getListener().onRoundStarted(round);
             cardLogic.showAllHands();
 
             if (processPlayerTurns() || checkWinCondition()) {
@@ -89,29 +120,27 @@ public class RoundLogic {
     }
 
     private boolean handleInitialHighScore() {
-        List<Player> highScorePlayers = getPlayersWithHighScore();
+        int highScoreSeats = seatsWithValue(HIGHEST_SCORE);
 
-        if (highScorePlayers.isEmpty()) {
+        if (highScoreSeats == 0) {
             return false;
         }
 
-        announceWinner(highScorePlayers, HIGHEST_SCORE, true);
+        setResult(highScoreSeats, HIGHEST_SCORE);
+        if (cardLogic.getListener() != GameListener.NONE) {
+            cardLogic.getListener().onImmediateWin(getResult(), players);
+        }
         return true;
     }
 
-    private void printRoundHeader(int round) {
-        System.out.println("\n" + "=".repeat(SEPARATOR_LENGTH));
-        System.out.println("*** ROUND " + round + " ***");
-        System.out.println("=".repeat(SEPARATOR_LENGTH));
-    }
-
     private boolean processPlayerTurns() {
-        for (Player player : players) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
             if (shouldSkipPlayer(player)) {
                 continue;
             }
 
-            if (playTurn(player)) {
+            if (playTurn(seat, player)) {
                 determineWinner();
                 return true;
             }
@@ -128,15 +157,44 @@ public class RoundLogic {
     }
 
     public boolean playTurn(Player player) {
-        printTurnHeader(player);
+        return playTurn(players.indexOf(player), player);
+    }
+
+    private boolean playTurn(int seat, Player player) {
+        currentSeat = seat;
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        int cards = player.getHand().size();
+
+        boolean highScore;
+        if (cardLogic.getMetrics() == GameMetrics.NONE) {
+            highScore = takeTurn(player);
+        } else {
+            long start = System.nanoTime();
+            highScore = takeTurn(player);
+            cardLogic.getMetrics().record(GameTimer.PLAY_TURN, System.nanoTime() - start);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.round = currentRound;
+            event.action = player.isBusted() ? TurnEvent.BUST
+                    : player.getHand().size() > cards ? TurnEvent.HIT : TurnEvent.STAND;
+            event.handValue = player.getHandValue();
+            event.commit();
+        }
+        return highScore;
+    }
+
+    private boolean takeTurn(Player player) {
+        cardLogic.getListener().onTurnStarted(player);
 
         if (player.isStanding()) {
             return false;
         }
 
-        String answer = promptHitOrStand(player);
-
-        if (answer.equals("yes")) {
+        if (decide(player)) {
             return handleHit(player);
         } else {
             handleStand(player);
@@ -144,9 +202,17 @@ public class RoundLogic {
         }
     }
 
-    private void printTurnHeader(Player player) {
-        System.out.println("\n--- " + player + " turn ---");
-        System.out.println("Current hand: " + player.getHandValue());
+    private boolean decide(Player player) {
+        if (cardLogic.getMetrics() == GameMetrics.NONE) {
+            return strategy.shouldHit(player, players, currentRound);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return strategy.shouldHit(player, players, currentRound);
+        } finally {
+            cardLogic.getMetrics().record(GameTimer.DECISION, System.nanoTime() - start);
+        }
     }
 
     private String promptHitOrStand(Player player) {
@@ -161,44 +227,56 @@ public class RoundLogic {
     private boolean handleHit(Player player) {
         Card card = cardLogic.drawCard();
         player.addCard(card);
-
-        System.out.println("\n" + player + " draws: " + card);
-        System.out.println("New hand: " + player.getHandValue());
+        cardLogic.getListener().onHit(player, card);
 
         if (player.isBusted()) {
             handleBust(player);
             return false;
         } else if (player.hasHighScore()) {
-            System.out.println(player + " has exactly " + HIGHEST_SCORE + "!");
+            cardLogic.getListener().onHighScore(player);
             return true;
         }
         return false;
     }
 
     private void handleBust(Player player) {
-        System.out.println(player + " is over " + HIGHEST_SCORE + " and busted!");
+        cardLogic.getListener().onBust(player);
         player.setOut(true);
     }
 
     private void handleStand(Player player) {
-        System.out.println(player + " stands (hand stays " + player.getHandValue() + ")");
+        cardLogic.getListener().onStand(player);
         player.setStanding(true);
     }
 
     private boolean checkWinCondition() {
-        List<Player> activePlayers = getActivePlayers();
+        if (cardLogic.getMetrics() == GameMetrics.NONE) {
+            return evaluateWinCondition();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return evaluateWinCondition();
+        } finally {
+            cardLogic.getMetrics().record(GameTimer.CHECK_WIN_CONDITION, System.nanoTime() - start);
+        }
+    }
+
+    private boolean evaluateWinCondition() {
+        int activeSeats = getActiveSeats();
+        int activeCount = Integer.bitCount(activeSeats);
 
-        if (activePlayers.size() == 1) {
-            announceSingleWinner(activePlayers.get(0));
+        if (activeCount == 1) {
+            announceSingleWinner(Integer.numberOfTrailingZeros(activeSeats));
             return true;
         }
 
-        if (activePlayers.isEmpty()) {
+        if (activeCount == 0) {
             announceAllBusted();
             return true;
         }
 
-        if (allPlayersStanding(activePlayers)) {
+        if (allPlayersStanding(activeSeats)) {
             determineWinner();
             return true;
         }
@@ -206,148 +284,187 @@ public class RoundLogic {
         return false;
     }
 
-    private List<Player> getActivePlayers() {
-        List<Player> activePlayers = new ArrayList<>();
-        for (Player player : players) {
-            if (!player.isOut()) {
-                activePlayers.add(player);
+    // Seats are bits of an int (at most MAX_PLAYERS of them), so the checks after every turn allocate nothing.
+    private int getActiveSeats() {
+        int activeSeats = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (!players.get(seat).isOut()) {
+                activeSeats |= 1 << seat;
             }
         }
-        return activePlayers;
+        return activeSeats;
     }
 
-    private boolean allPlayersStanding(List<Player> activePlayers) {
-        return activePlayers.stream().allMatch(Player::isStanding);
+    private boolean allPlayersStanding(int activeSeats) {
+        for (int seat = 0; seat < players.size(); seat++) {
+            if ((activeSeats & 1 << seat) != 0 && !players.get(seat).isStanding()) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private void announceSingleWinner(Player winner) {
-        showFinalHands();
-        printSeparator();
-        System.out.println("*** " + winner + " wins! ***");
-        System.out.println("Hand: " + winner.getHandValue());
-        printSeparator();
+    private void announceSingleWinner(int seat) {
+        Player winner = players.get(seat);
+        setResult(1 << seat, winner.getHandValue());
+        cardLogic.getListener().onLastPlayerStanding(winner, players);
     }
 
     private void announceAllBusted() {
-        showFinalHands();
-        printSeparator();
-        System.out.println("All players busted. Nobody wins!");
-        printSeparator();
+        setResult(0, 0);
+        cardLogic.getListener().onAllBusted(players);
     }
 
     private void determineWinner() {
-        showFinalHands();
+        if (cardLogic.getMetrics() == GameMetrics.NONE) {
+            resolveWinner();
+            return;
+        }
 
-        Winner result = findWinnersWithHighestScore();
+        long start = System.nanoTime();
+        try {
+            resolveWinner();
+        } finally {
+            cardLogic.getMetrics().record(GameTimer.DETERMINE_WINNER, System.nanoTime() - start);
+        }
+    }
+
+    private void resolveWinner() {
+        int highestValue = getHighestValue();
+        setResult(seatsWithValue(highestValue), highestValue);
+
+        if (cardLogic.getListener() != GameListener.NONE) {
+            cardLogic.getListener().onWinnerDetermined(getResult(), players);
+        }
+    }
 
-        printSeparator();
-        announceResult(result);
-        printSeparator();
+    public Winner findWinnersWithHighestScore() {
+        int highestValue = getHighestValue();
+        return new Winner(playersOf(seatsWithValue(highestValue)), highestValue);
     }
 
-    private Winner findWinnersWithHighestScore() {
-        List<Player> winners = new ArrayList<>();
+    private int getHighestValue() {
         int highestValue = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (!player.isOut()) {
+                highestValue = Math.max(highestValue, player.getHandValue());
+            }
+        }
+        return highestValue;
+    }
 
-        for (Player player : players) {
-            if (player.isOut()) {
-                continue;
+    private int seatsWithValue(int value) {
+        int seats = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            if (!player.isOut() && player.getHandValue() == value) {
+                seats |= 1 << seat;
             }
+        }
+        return seats;
+    }
 
-            if (player.getHandValue() > highestValue) {
-                highestValue = player.getHandValue();
-                winners.clear();
-                winners.add(player);
-            } else if (player.getHandValue() == highestValue) {
-                winners.add(player);
+    private List<Player> playersOf(int seats) {
+        List<Player> selected = new ArrayList<>(Integer.bitCount(seats));
+        for (int seat = 0; seat < players.size(); seat++) {
+            if ((seats & 1 << seat) != 0) {
+                selected.add(players.get(seat));
             }
         }
+        return selected;
+    }
 
-        return new Winner(winners, highestValue);
+    private void clearResult() {
+        hasResult = false;
+        winnerSeats = 0;
+        winningScore = 0;
+        result = null;
     }
 
-    private void announceResult(Winner result) {
-        if (result.winners.isEmpty()) {
-            System.out.println("No winners - all players busted!");
-        } else if (result.winners.size() == 1) {
-            System.out.println("*** " + result.winners.get(0) + " wins with " + result.highestScore + " points! ***");
-        } else {
-            printTieMessage(result.winners, result.highestScore);
+    private void setResult(int seats, int score) {
+        hasResult = true;
+        winnerSeats = seats;
+        winningScore = score;
+        result = null;
+
+        WinnerResolvedEvent event = new WinnerResolvedEvent();
+        if (event.isEnabled()) {
+            event.winners = winnerNames(seats);
+            event.winningScore = score;
+            event.round = currentRound;
+            event.commit();
         }
     }
 
-    private void announceWinner(List<Player> winners, int score, boolean isHighScore) {
-        showFinalHands();
-        printSeparator();
+    // Ends an event begun before the initial deal and fills it from the finished game.
+    public void commitGameEvent(GameEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.players = players.size();
+            event.rounds = currentRound;
+            event.winnerSeats = winnerSeats;
+            event.winningScore = winningScore;
+            event.commit();
+        }
+    }
 
-        if (winners.size() == 1) {
-            if (isHighScore) {
-                System.out.println("*** " + winners.get(0) + " has 21 and wins! ***");
-            } else {
-                System.out.println("*** " + winners.get(0) + " wins with " + score + " points! ***");
-            }
-        } else {
-            printTieMessage(winners, score);
+    private String winnerNames(int seats) {
+        StringJoiner names = new StringJoiner(", ");
+        for (Player winner : playersOf(seats)) {
+            names.add(winner.getName());
         }
+        return names.toString();
+    }
 
-        printSeparator();
+    public List<Player> getPlayers() {
+        return players;
     }
 
-    private List<Player> getPlayersWithHighScore() {
-        List<Player> highScorePlayers = new ArrayList<>();
-        for (Player player : players) {
-            if (player.getHandValue() == HIGHEST_SCORE) {
-                highScorePlayers.add(player);
-            }
-        }
-        return highScorePlayers;
+    public int getCurrentRound() {
+        return currentRound;
     }
 
-    private void printTieMessage(List<Player> players, int score) {
-        System.out.println("*** TIE! ***");
-        System.out.print("Players with " + score + ": ");
+    // The seat whose turn is being played, so strategies can look up per-seat state without searching the table.
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
 
-        for (int i = 0; i < players.size(); i++) {
-            System.out.print(players.get(i));
-            if (i < players.size() - 1) {
-                System.out.print(", ");
-            }
+    // Built on first use, headless games only look at the winner seats.
+    public Winner getResult() {
+        if (result == null && hasResult) {
+            result = new Winner(playersOf(winnerSeats), winningScore);
         }
-        System.out.println();
+        return result;
     }
 
-    private void showFinalHands() {
-        printSeparator();
-        System.out.println("*** FINAL HANDS ***");
-        printSeparator();
+    public int getWinnerSeats() {
+        return winnerSeats;
+    }
 
-        for (Player player : players) {
-            System.out.printf("%s: %s = %d%s%n",
-                    player.getName(),
-                    player.getFullHand(),
-                    player.getHandValue(),
-                    getPlayerStatus(player)
-            );
-        }
+    public int getWinningScore() {
+        return winningScore;
+    }
 
-        printSeparator();
+    public PlayerStrategy getStrategy() {
+        return strategy;
     }
 
-    private String getPlayerStatus(Player player) {
-        if (player.isOut()) {
-            return " (Busted)";
-        } else if (player.isStanding()) {
-            return " (Standing)";
-        }
-        return "";
+    public void setStrategy(PlayerStrategy strategy) {
+        this.strategy = strategy;
     }
 
-    private void printSeparator() {
-        System.out.println("=".repeat(SEPARATOR_LENGTH));
+    public void setDecisionProvider(DecisionProvider provider, long turnTimeoutMillis) {
+        this.strategy = new TimedDecisionStrategy(provider, turnTimeoutMillis);
     }
 
-    public List<Player> getPlayers() {
-        return players;
+    // Listener and metrics belong to the CardLogic, so deal and turns can never report to different sinks.
+    public GameListener getListener() {
+        return cardLogic.getListener();
+    }
+
+    public GameMetrics getMetrics() {
+        return cardLogic.getMetrics();
     }
 
     public void setPlayers(List<Player> players) {
@@ -0,0 +1,56 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// Announcements are chained and run on the executor in deal order, each card announcement followed by the delay.
+// The dealing thread does not wait between cards; it only waits in awaitIdle() before the first turn.
+public class ScheduledDealPacing implements DealPacing {
+    private final long delayMs;
+    private final Executor executor;
+    private final Executor delayedExecutor;
+    private CompletableFuture<Void> lastAnnouncement;
+
+    public ScheduledDealPacing(long delayMs, Executor executor) {
+        this.delayMs = delayMs;
+        this.executor = executor;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, executor);
+        this.lastAnnouncement = CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized void announceCard(Runnable announcement) {
+        lastAnnouncement = lastAnnouncement
+                .thenRunAsync(announcement, executor)
+                .thenRunAsync(() -> {}, delayedExecutor);
+    }
+
+    @Override
+    public synchronized void announce(Runnable announcement) {
+        lastAnnouncement = lastAnnouncement.thenRunAsync(announcement, executor);
+    }
+
+    @Override
+    public boolean isAsynchronous() {
+        return true;
+    }
+
+    public synchronized CompletableFuture<Void> whenIdle() {
+        return lastAnnouncement;
+    }
+
+    @Override
+    public void awaitIdle() throws InterruptedException {
+        try {
+            whenIdle().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A paced announcement failed", e.getCause());
+        }
+    }
+
+    public long getDelayMs() {
+        return delayMs;
+    }
+}
@@ -0,0 +1,45 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public interface Shoe {
+    void add(Card card);
+
+    default void fill(int numDecks) {
+        for (int i = 0; i < numDecks; i++) {
+            for (int code = 0; code < Card.DECK_SIZE; code++) {
+                add(Card.of(code));
+            }
+        }
+    }
+
+    Card draw(RandomGenerator random);
+
+    // Takes a card the shoe still holds out of it as if it had been drawn.
+    void take(Card card);
+
+    int size();
+
+    int[] getComposition();
+
+    List<Card> getCards();
+
+    void clear();
+
+    // Puts every drawn card back, so the shoe holds all the cards it was filled with again.
+    void reshuffle();
+
+    // The cards drawn so far left the table, so a reshuffle may put them back; called between rounds.
+    default void discardHands() {
+    }
+
+    // Whether the shoe should be reshuffled before the next round; a plain shoe is reshuffled after every round.
+    default boolean isCutCardReached() {
+        return true;
+    }
+
+    Shoe copy();
+}
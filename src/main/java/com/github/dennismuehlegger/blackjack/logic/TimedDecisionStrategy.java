@@ -0,0 +1,60 @@
+package com.github.dennismuehlegger.blackjack.logic;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Waits for an asynchronous decision, but never longer than the turn deadline: a player who does not answer
+// in time (or whose provider fails, throws or returns no future) gets the default decision, so one slow player
+// cannot stall the table.
+public class TimedDecisionStrategy implements PlayerStrategy {
+    private final DecisionProvider provider;
+    private final long timeoutMillis;
+    private final Decision defaultDecision;
+
+    public TimedDecisionStrategy(DecisionProvider provider, long timeoutMillis) {
+        this(provider, timeoutMillis, Decision.STAND);
+    }
+
+    public TimedDecisionStrategy(DecisionProvider provider, long timeoutMillis, Decision defaultDecision) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Turn timeout must be positive");
+        }
+
+        this.provider = provider;
+        this.timeoutMillis = timeoutMillis;
+        this.defaultDecision = defaultDecision;
+    }
+
+    @Override
+    public boolean shouldHit(Player player, List<Player> players, int round) {
+        return decide(player, players, round) == Decision.HIT;
+    }
+
+    public Decision decide(Player player, List<Player> players, int round) {
+        CompletableFuture<Decision> decision;
+        try {
+            decision = provider.requestDecision(player, players, round);
+        } catch (RuntimeException e) {
+            return defaultDecision;
+        }
+        if (decision == null) {
+            return defaultDecision;
+        }
+
+        // Completing the provider's own future on timeout tells it that the answer is no longer wanted.
+        return decision.completeOnTimeout(defaultDecision, timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionally(failure -> defaultDecision)
+                .join();
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public Decision getDefaultDecision() {
+        return defaultDecision;
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.dennismuehlegger.blackjack.metrics;
+
+import com.github.dennismuehlegger.blackjack.logic.GameMetrics;
+import com.github.dennismuehlegger.blackjack.logic.GameTimer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// One latency histogram per GameTimer, shared by every table that is given this registry.
+public class MetricsRegistry implements GameMetrics {
+    private static final String DOMAIN = "com.github.dennismuehlegger.blackjack";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final LatencyHistogram[] histograms;
+    private final List<ObjectName> registeredNames;
+
+    public MetricsRegistry() {
+        this.histograms = new LatencyHistogram[GameTimer.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        this.registeredNames = new ArrayList<>();
+    }
+
+    @Override
+    public void record(GameTimer timer, long nanos) {
+        histograms[timer.ordinal()].record(nanos);
+    }
+
+    public LatencyHistogram getHistogram(GameTimer timer) {
+        return histograms[timer.ordinal()];
+    }
+
+    public synchronized void registerMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (GameTimer timer : GameTimer.values()) {
+            ObjectName name = new ObjectName(DOMAIN + ":type=Timer,name=" + timer.getMetricName());
+            server.registerMBean(new TimerStats(getHistogram(timer)), name);
+            registeredNames.add(name);
+        }
+    }
+
+    public synchronized void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName name : registeredNames) {
+            server.unregisterMBean(name);
+        }
+        registeredNames.clear();
+    }
+
+    // Prometheus text exposition format, one summary per timer in seconds.
+    public String scrape() {
+        StringBuilder text = new StringBuilder();
+        for (GameTimer timer : GameTimer.values()) {
+            LatencyHistogram histogram = getHistogram(timer);
+            String name = "blackjack_" + timer.getMetricName() + "_seconds";
+
+            text.append("# HELP ").append(name).append(" Time spent in ").append(timer.getMetricName()).append('\n');
+            text.append("# TYPE ").append(name).append(" summary\n");
+            for (double quantile : QUANTILES) {
+                text.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.valueAtPercentile(quantile * 100))).append('\n');
+            }
+            text.append(name).append("_sum ").append(seconds(histogram.getSum())).append('\n');
+            text.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / NANOS_PER_SECOND);
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.dennismuehlegger.blackjack.metrics;
+
+public class TimerStats implements TimerStatsMBean {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final LatencyHistogram histogram;
+
+    public TimerStats(LatencyHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return histogram.getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return histogram.valueAtPercentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return histogram.valueAtPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return histogram.valueAtPercentile(99.9) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return histogram.getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.dennismuehlegger.blackjack.metrics;
+
+public interface TimerStatsMBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,186 @@
+package com.github.dennismuehlegger.blackjack.server;
+
+import com.github.dennismuehlegger.blackjack.logic.Decision;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+// One virtual thread per connection reads every line, so tables never read from sockets themselves:
+// decisions complete the future of the pending turn, everything else is handled here. A second one writes,
+// so tables never block on sockets either, they only queue their messages.
+class ClientConnection {
+    // IDLE until JOIN, WAITING in the lobby and SEATED until the table sends its RESULT.
+    enum State { IDLE, WAITING, SEATED }
+
+    private static final int MAX_QUEUED_MESSAGES = 1_024;
+
+    private final Socket socket;
+    private final GameServer server;
+    private final BufferedReader in;
+    private final BufferedWriter out;
+    private final BlockingQueue<String> outbox;
+    private final AtomicReference<PendingTurn> pendingTurn;
+    private final AtomicReference<State> state;
+    private volatile boolean closed;
+    private int lastTurnId;
+    private String name;
+
+    ClientConnection(Socket socket, GameServer server) throws IOException {
+        this.socket = socket;
+        this.server = server;
+        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        this.outbox = new ArrayBlockingQueue<>(MAX_QUEUED_MESSAGES);
+        this.pendingTurn = new AtomicReference<>();
+        this.state = new AtomicReference<>(State.IDLE);
+    }
+
+    void run() {
+        try {
+            send("WELCOME");
+            String line;
+            while (!closed && (line = in.readLine()) != null) {
+                handle(line.trim());
+            }
+        } catch (IOException e) {
+            // The client went away, the finally block cleans up.
+        } finally {
+            close();
+        }
+    }
+
+    private void handle(String line) {
+        String[] parts = line.split(" ", 2);
+
+        switch (parts[0].toUpperCase()) {
+            case "JOIN" -> {
+                if (state.compareAndSet(State.IDLE, State.WAITING)) {
+                    name = parts.length > 1 && !parts[1].isBlank() ? parts[1] : "player";
+                    server.join(this);
+                } else {
+                    send("ERROR already joined");
+                }
+            }
+            case "HIT" -> answer(Decision.HIT, parts);
+            case "STAND" -> answer(Decision.STAND, parts);
+            case "QUIT" -> close();
+            default -> send("ERROR unknown command " + parts[0]);
+        }
+    }
+
+    CompletableFuture<Decision> requestDecision(int handValue) {
+        if (closed) {
+            return CompletableFuture.completedFuture(Decision.STAND);
+        }
+
+        // Only the table thread asks for decisions, and ids never repeat on a connection, not even across tables.
+        PendingTurn turn = new PendingTurn(++lastTurnId, new CompletableFuture<>());
+        pendingTurn.set(turn);
+        send("TURN " + turn.id + " " + handValue);
+        return turn.decision;
+    }
+
+    // An answer has to name its turn: one that arrives after the deadline carries the id of a turn the table
+    // has already left, so it cannot complete the next one.
+    private void answer(Decision decision, String[] parts) {
+        int turnId;
+        try {
+            turnId = Integer.parseInt(parts.length > 1 ? parts[1].trim() : "");
+        } catch (NumberFormatException e) {
+            send("ERROR turn id expected");
+            return;
+        }
+
+        PendingTurn pending = pendingTurn.get();
+        if (pending == null || pending.id != turnId || !pendingTurn.compareAndSet(pending, null)
+                || !pending.decision.complete(decision)) {
+            send("ERROR not your turn");
+        }
+    }
+
+    // Never blocks: a client that stops reading fills its outbox and is dropped, instead of stalling the table
+    // in a socket write that has no timeout.
+    void send(String message) {
+        if (!closed && !outbox.offer(message)) {
+            close();
+        }
+    }
+
+    // Writes everything that is queued before flushing, so the messages of one turn leave in one packet.
+    void writeMessages() {
+        try {
+            while (!closed) {
+                String message = outbox.take();
+                while (message != null && !closed) {
+                    out.write(message);
+                    out.newLine();
+                    message = outbox.poll();
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away, the finally block cleans up.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        // A table waiting for this player must not wait for the deadline, a player who left stands.
+        PendingTurn pending = pendingTurn.getAndSet(null);
+        if (pending != null) {
+            pending.decision.complete(Decision.STAND);
+        }
+        server.disconnected(this);
+        // Wakes the writer up, it sees the connection is closed and stops.
+        outbox.offer("");
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to clean up.
+        }
+    }
+
+    void seated() {
+        state.set(State.SEATED);
+    }
+
+    void leftTable() {
+        state.set(State.IDLE);
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    private static class PendingTurn {
+        private final int id;
+        private final CompletableFuture<Decision> decision;
+
+        private PendingTurn(int id, CompletableFuture<Decision> decision) {
+            this.id = id;
+            this.decision = decision;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.github.dennismuehlegger.blackjack.server;
+
+import com.github.dennismuehlegger.blackjack.logic.GameMetrics;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.metrics.MetricsRegistry;
+import com.github.dennismuehlegger.blackjack.metrics.PrometheusEndpoint;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Line based protocol. Clients send JOIN <name>, HIT <turn id>, STAND <turn id> or QUIT. The server answers with
+// WELCOME, SEATED <seat> <players>, DEALT <seat> <card>, TURN <turn id> <hand value>, HIT <seat> <card> <hand value>,
+// STAND <seat> <hand value>, BUST <seat> and RESULT <score> <winning seats or ->. After a RESULT a client
+// can JOIN the next table, before that a JOIN is answered with ERROR already joined. A player who does not
+// answer a TURN before the turn timeout stands.
+public class GameServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 2121;
+    private static final long DEFAULT_TURN_TIMEOUT_MILLIS = 30_000;
+
+    private final ServerSocket serverSocket;
+    private final int playersPerTable;
+    private final int numDecks;
+    private final ExecutorService executor;
+    private final List<ClientConnection> lobby;
+    private final Set<ClientConnection> connections;
+    private final AtomicLong tablesPlayed;
+    private volatile long turnTimeoutMillis;
+    private volatile GameMetrics metrics;
+
+    public GameServer(int port, int playersPerTable, int numDecks) throws IOException {
+        if (playersPerTable < RoundLogic.MIN_PLAYERS || playersPerTable > RoundLogic.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players per table must be between " + RoundLogic.MIN_PLAYERS
+                    + " and " + RoundLogic.MAX_PLAYERS);
+        }
+
+        this.serverSocket = new ServerSocket(port);
+        this.playersPerTable = playersPerTable;
+        this.numDecks = numDecks;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.lobby = new ArrayList<>();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.tablesPlayed = new AtomicLong();
+        this.turnTimeoutMillis = DEFAULT_TURN_TIMEOUT_MILLIS;
+        this.metrics = GameMetrics.NONE;
+    }
+
+    public void start() {
+        executor.execute(this::acceptConnections);
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+
+                ClientConnection connection = new ClientConnection(socket, this);
+                connections.add(connection);
+                executor.execute(connection::run);
+                executor.execute(connection::writeMessages);
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void join(ClientConnection connection) {
+        List<ClientConnection> seats = null;
+
+        synchronized (lobby) {
+            if (connection.getState() != ClientConnection.State.WAITING || lobby.contains(connection)) {
+                throw new IllegalStateException(connection.getName() + " cannot join twice");
+            }
+
+            lobby.add(connection);
+            if (lobby.size() >= playersPerTable) {
+                List<ClientConnection> waiting = lobby.subList(0, playersPerTable);
+                seats = new ArrayList<>(waiting);
+                waiting.clear();
+                for (ClientConnection seat : seats) {
+                    seat.seated();
+                }
+            }
+        }
+
+        if (seats != null) {
+            List<ClientConnection> table = seats;
+            executor.execute(() -> playTable(table));
+        }
+    }
+
+    private void playTable(List<ClientConnection> seats) {
+        try {
+            new RemoteTable(seats, numDecks, turnTimeoutMillis, metrics).play();
+            tablesPlayed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Nobody joins the task, so report the failure here and drop the players of the broken table.
+            System.err.println("Table of " + seats.size() + " players failed: " + e);
+            for (ClientConnection seat : seats) {
+                seat.close();
+            }
+        }
+    }
+
+    void disconnected(ClientConnection connection) {
+        connections.remove(connection);
+        synchronized (lobby) {
+            lobby.remove(connection);
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getTablesPlayed() {
+        return tablesPlayed.get();
+    }
+
+    public long getTurnTimeoutMillis() {
+        return turnTimeoutMillis;
+    }
+
+    public void setTurnTimeoutMillis(long turnTimeoutMillis) {
+        if (turnTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Turn timeout must be positive");
+        }
+        this.turnTimeoutMillis = turnTimeoutMillis;
+    }
+
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (ClientConnection connection : connections) {
+            connection.close();
+        }
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, JMException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int playersPerTable = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int numDecks = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        GameServer server = new GameServer(port, playersPerTable, numDecks);
+        if (args.length > 3) {
+            server.setTurnTimeoutMillis(Long.parseLong(args[3]));
+        }
+        if (args.length > 4) {
+            MetricsRegistry registry = new MetricsRegistry();
+            registry.registerMBeans();
+            server.setMetrics(registry);
+
+            PrometheusEndpoint endpoint = new PrometheusEndpoint(registry, Integer.parseInt(args[4]));
+            endpoint.start();
+            System.out.println("Metrics available at http://localhost:" + endpoint.getPort() + "/metrics");
+        }
+        server.start();
+        System.out.println("Blackjack server listening on port " + server.getPort());
+
+        Thread.currentThread().join();
+    }
+}
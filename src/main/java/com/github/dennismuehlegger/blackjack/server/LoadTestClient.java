@@ -0,0 +1,179 @@
+package com.github.dennismuehlegger.blackjack.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Connects many simulated players, each on its own virtual thread, and measures how long the server
+// takes from receiving a decision until the next message reaches the player.
+public class LoadTestClient {
+    private static final long DEFAULT_TIMEOUT_MILLIS = 600_000;
+
+    private final String host;
+    private final int port;
+    private final int standAt;
+    private long timeoutMillis;
+
+    public LoadTestClient(String host, int port, int standAt) {
+        this.host = host;
+        this.port = port;
+        this.standAt = standAt;
+        this.timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+    }
+
+    public LoadTestResult run(int clients, int gamesPerClient) throws InterruptedException {
+        long start = System.nanoTime();
+        List<Future<ClientStats>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                String name = "load-" + client;
+                futures.add(executor.submit(() -> playGames(name, gamesPerClient)));
+            }
+
+            // Clients left over when the count is not a multiple of the table size wait in the lobby forever,
+            // interrupting them closes their sockets.
+            executor.shutdown();
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Load test did not finish within " + timeoutMillis
+                        + " ms, is the client count a multiple of the table size?");
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long games = 0;
+        double tables = 0;
+        long[] latencies = new long[0];
+
+        for (Future<ClientStats> future : futures) {
+            ClientStats stats;
+            try {
+                stats = future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load test client failed", e.getCause());
+            }
+
+            games += stats.games;
+            tables += stats.tables;
+
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + stats.decisions);
+            System.arraycopy(stats.latencies, 0, latencies, offset, stats.decisions);
+        }
+
+        Arrays.sort(latencies);
+        return new LoadTestResult(games, Math.round(tables), latencies.length,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), elapsed);
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    private ClientStats playGames(String name, int games) {
+        ClientStats stats = new ClientStats();
+
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            send(out, "JOIN " + name);
+            long decisionSentAt = 0;
+            int tableSize = 1;
+            String line;
+
+            while ((line = in.readLine()) != null) {
+                if (decisionSentAt != 0) {
+                    stats.record(System.nanoTime() - decisionSentAt);
+                    decisionSentAt = 0;
+                }
+
+                if (line.startsWith("SEATED ")) {
+                    tableSize = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+                } else if (line.startsWith("TURN ")) {
+                    int separator = line.indexOf(' ', 5);
+                    String turnId = line.substring(5, separator);
+                    int handValue = Integer.parseInt(line.substring(separator + 1));
+                    decisionSentAt = System.nanoTime();
+                    send(out, (handValue < standAt ? "HIT " : "STAND ") + turnId);
+                } else if (line.startsWith("RESULT ")) {
+                    stats.games++;
+                    stats.tables += 1.0 / tableSize;
+
+                    if (stats.games == games) {
+                        send(out, "QUIT");
+                        break;
+                    }
+                    send(out, "JOIN " + name);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return stats;
+    }
+
+    private static void send(BufferedWriter out, String message) throws IOException {
+        out.write(message);
+        out.newLine();
+        out.flush();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static class ClientStats {
+        private long games;
+        private double tables;
+        private long[] latencies = new long[16];
+        private int decisions;
+
+        private void record(long latency) {
+            if (decisions == latencies.length) {
+                latencies = Arrays.copyOf(latencies, decisions * 2);
+            }
+            latencies[decisions++] = latency;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 2121;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        int gamesPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        LoadTestClient client = new LoadTestClient(host, port, 17);
+        if (args.length > 4) {
+            client.setTimeoutMillis(Long.parseLong(args[4]));
+        }
+        LoadTestResult result = client.run(clients, gamesPerClient);
+        System.out.println(result);
+    }
+}
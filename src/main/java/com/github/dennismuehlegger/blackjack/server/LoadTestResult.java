@@ -0,0 +1,34 @@
+package com.github.dennismuehlegger.blackjack.server;
+
+public class LoadTestResult {
+    public final long games;
+    public final long tables;
+    public final long decisions;
+    public final long p50LatencyNanos;
+    public final long p99LatencyNanos;
+    public final long elapsedNanos;
+
+    public LoadTestResult(long games, long tables, long decisions, long p50LatencyNanos, long p99LatencyNanos,
+                          long elapsedNanos) {
+        this.games = games;
+        this.tables = tables;
+        this.decisions = decisions;
+        this.p50LatencyNanos = p50LatencyNanos;
+        this.p99LatencyNanos = p99LatencyNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double tablesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : tables * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Tables played: %,d in %.3f s (%,.0f tables/s)%n", tables,
+                elapsedNanos / 1_000_000_000.0, tablesPerSecond())
+                + String.format("Seats played: %,d%n", games)
+                + String.format("Decisions: %,d%n", decisions)
+                + String.format("Decision latency p50: %.3f ms, p99: %.3f ms",
+                p50LatencyNanos / 1_000_000.0, p99LatencyNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.dennismuehlegger.blackjack.server;
+
+import com.github.dennismuehlegger.blackjack.game.Card;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.jfr.GameEvent;
+import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.DealPacing;
+import com.github.dennismuehlegger.blackjack.logic.Decision;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+import com.github.dennismuehlegger.blackjack.logic.GameMetrics;
+import com.github.dennismuehlegger.blackjack.logic.ListShoe;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class RemoteTable implements GameListener {
+    private final List<ClientConnection> seats;
+    private final List<Player> players;
+    private final CardLogic cardLogic;
+    private final RoundLogic roundLogic;
+
+    RemoteTable(List<ClientConnection> seats, int numDecks, long turnTimeoutMillis, GameMetrics metrics) {
+        this.seats = seats;
+        this.players = new ArrayList<>();
+        for (ClientConnection seat : seats) {
+            players.add(new Player(seat.getName()));
+        }
+
+        this.cardLogic = new CardLogic(new ListShoe(), players);
+        this.cardLogic.setListener(this);
+        this.cardLogic.setDealPacing(DealPacing.none());
+        this.cardLogic.setMetrics(metrics);
+        this.cardLogic.fillDeck(numDecks);
+
+        this.roundLogic = new RoundLogic(cardLogic, null, players);
+        this.roundLogic.setDecisionProvider(this::askPlayer, turnTimeoutMillis);
+    }
+
+    void play() throws InterruptedException {
+        for (int seat = 0; seat < seats.size(); seat++) {
+            seats.get(seat).send("SEATED " + seat + " " + seats.size());
+        }
+
+        GameEvent event = new GameEvent();
+        event.begin();
+
+        cardLogic.dealInitialCards();
+        roundLogic.playRounds();
+        roundLogic.commitGameEvent(event);
+
+        // The seats are free again before the clients read the RESULT, so a JOIN right after it is accepted.
+        for (ClientConnection seat : seats) {
+            seat.leftTable();
+        }
+        broadcast(formatResult(roundLogic.getResult()));
+    }
+
+    private CompletableFuture<Decision> askPlayer(Player player, List<Player> table, int round) {
+        return seats.get(roundLogic.getCurrentSeat()).requestDecision(player.getHandValue());
+    }
+
+    @Override
+    public void onCardDealt(Player player, Card card) {
+        broadcast("DEALT " + players.indexOf(player) + " " + card);
+    }
+
+    @Override
+    public void onHit(Player player, Card card) {
+        broadcast("HIT " + players.indexOf(player) + " " + card + " " + player.getHandValue());
+    }
+
+    @Override
+    public void onStand(Player player) {
+        broadcast("STAND " + players.indexOf(player) + " " + player.getHandValue());
+    }
+
+    @Override
+    public void onBust(Player player) {
+        broadcast("BUST " + players.indexOf(player));
+    }
+
+    private String formatResult(Winner result) {
+        if (result.winners.isEmpty()) {
+            return "RESULT 0 -";
+        }
+
+        StringBuilder message = new StringBuilder("RESULT ").append(result.highestScore).append(' ');
+        for (int i = 0; i < result.winners.size(); i++) {
+            if (i > 0) {
+                message.append(',');
+            }
+            message.append(players.indexOf(result.winners.get(i)));
+        }
+        return message.toString();
+    }
+
+    private void broadcast(String message) {
+        for (ClientConnection seat : seats) {
+            seat.send(message);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+// Argument checks shared by the main methods of this package: a bad argument prints the problem and the usage
+// line and exits with status 2 instead of a stack trace.
+final class CommandLine {
+    private CommandLine() {
+    }
+
+    static long parsePositive(String arg, String name, long max) {
+        long value;
+        try {
+            value = Long.parseLong(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The number of " + name + " is not a number: " + arg);
+        }
+
+        if (value <= 0 || value > max) {
+            throw new IllegalArgumentException("The number of " + name + " must be between 1 and " + max + ": " + arg);
+        }
+        return value;
+    }
+
+    static void exitWithUsage(IllegalArgumentException e, String usage) {
+        System.err.println(e.getMessage());
+        System.err.println(usage);
+        System.exit(2);
+    }
+}
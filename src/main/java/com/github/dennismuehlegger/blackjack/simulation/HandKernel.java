@@ -0,0 +1,12 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+// The batch operations of a HandStore over its parallel arrays, for the hands 0 to count - 1.
+interface HandKernel {
+    int HIGHEST_SCORE = 21;
+    int ACE_VALUE = 11;
+    int ACE_REDUCTION = 10;
+
+    void addCards(int[] values, int[] totals, int[] aces, int[] softAces, int count);
+
+    void evaluate(int[] totals, int[] softAces, int[] status, int count);
+}
@@ -0,0 +1,137 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import java.util.Arrays;
+
+// Hands of many tables in parallel int arrays instead of Player objects with card lists: hand
+// table * seats + seat holds its total, aces, still soft aces and status flags. Batch operations run over all
+// hands at once, vectorized when the kernel was built (-Pvector) and the JVM was started with
+// --add-modules jdk.incubator.vector.
+public class HandStore {
+    public static final int BUSTED = 1;
+    public static final int HIGH_SCORE = 2;
+    public static final int SOFT = 4;
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = HandStore.class.getPackageName() + ".VectorHandKernel";
+    private static final boolean VECTOR_AVAILABLE = isVectorKernelUsable();
+
+    private final int tables;
+    private final int seats;
+    private final int[] totals;
+    private final int[] aces;
+    private final int[] softAces;
+    private final int[] status;
+    private final boolean vectorized;
+    private final HandKernel kernel;
+
+    public HandStore(int tables, int seats) {
+        this(tables, seats, VECTOR_AVAILABLE);
+    }
+
+    public HandStore(int tables, int seats, boolean vectorized) {
+        if (tables <= 0 || seats <= 0) {
+            throw new IllegalArgumentException("A hand store needs at least one table and one seat");
+        }
+        if (vectorized && !VECTOR_AVAILABLE) {
+            throw new IllegalStateException("The Vector API needs a -Pvector build and --add-modules " + VECTOR_MODULE);
+        }
+
+        int hands = Math.multiplyExact(tables, seats);
+        this.tables = tables;
+        this.seats = seats;
+        this.totals = new int[hands];
+        this.aces = new int[hands];
+        this.softAces = new int[hands];
+        this.status = new int[hands];
+        this.vectorized = vectorized;
+        this.kernel = vectorized ? loadVectorKernel() : new ScalarHandKernel();
+    }
+
+    // The kernel is only compiled by the vector profile, so look for its class file without loading it.
+    private static boolean isVectorKernelUsable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                && HandStore.class.getResource("VectorHandKernel.class") != null;
+    }
+
+    // Loaded by name so that the class referencing jdk.incubator.vector is never resolved without the module.
+    private static HandKernel loadVectorKernel() {
+        try {
+            return (HandKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Vector hand kernel could not be loaded", e);
+        }
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    public int index(int table, int seat) {
+        return table * seats + seat;
+    }
+
+    public void addCard(int hand, int value) {
+        ScalarHandKernel.addCard(hand, value, totals, aces, softAces);
+        status[hand] = ScalarHandKernel.statusOf(totals[hand], softAces[hand]);
+    }
+
+    // Adds values[hand] to every hand, a value of 0 leaves the hand as it is (a player who stands).
+    // The status flags are only current after evaluate().
+    public void addCards(int[] values) {
+        if (values.length != totals.length) {
+            throw new IllegalArgumentException("Expected " + totals.length + " card values but got " + values.length);
+        }
+        kernel.addCards(values, totals, aces, softAces, totals.length);
+    }
+
+    public void evaluate() {
+        kernel.evaluate(totals, softAces, status, totals.length);
+    }
+
+    public void reset() {
+        Arrays.fill(totals, 0);
+        Arrays.fill(aces, 0);
+        Arrays.fill(softAces, 0);
+        Arrays.fill(status, 0);
+    }
+
+    public int getHandValue(int hand) {
+        return totals[hand];
+    }
+
+    public int getAces(int hand) {
+        return aces[hand];
+    }
+
+    public int getStatus(int hand) {
+        return status[hand];
+    }
+
+    public boolean isBusted(int hand) {
+        return (status[hand] & BUSTED) != 0;
+    }
+
+    public boolean hasHighScore(int hand) {
+        return (status[hand] & HIGH_SCORE) != 0;
+    }
+
+    public boolean isSoft(int hand) {
+        return (status[hand] & SOFT) != 0;
+    }
+
+    public int getTables() {
+        return tables;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int size() {
+        return totals.length;
+    }
+}
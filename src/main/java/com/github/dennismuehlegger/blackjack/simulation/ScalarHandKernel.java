@@ -0,0 +1,50 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+class ScalarHandKernel implements HandKernel {
+    @Override
+    public void addCards(int[] values, int[] totals, int[] aces, int[] softAces, int count) {
+        for (int hand = 0; hand < count; hand++) {
+            addCard(hand, values[hand], totals, aces, softAces);
+        }
+    }
+
+    // The same steps as Player.addCard, so both keep identical totals.
+    static void addCard(int hand, int value, int[] totals, int[] aces, int[] softAces) {
+        int total = totals[hand] + value;
+        int soft = softAces[hand];
+
+        if (value == ACE_VALUE) {
+            aces[hand]++;
+            soft++;
+        }
+
+        while (total > HIGHEST_SCORE && soft > 0) {
+            total -= ACE_REDUCTION;
+            soft--;
+        }
+
+        totals[hand] = total;
+        softAces[hand] = soft;
+    }
+
+    @Override
+    public void evaluate(int[] totals, int[] softAces, int[] status, int count) {
+        for (int hand = 0; hand < count; hand++) {
+            status[hand] = statusOf(totals[hand], softAces[hand]);
+        }
+    }
+
+    static int statusOf(int total, int softAces) {
+        int status = 0;
+        if (total > HIGHEST_SCORE) {
+            status |= HandStore.BUSTED;
+        }
+        if (total == HIGHEST_SCORE) {
+            status |= HandStore.HIGH_SCORE;
+        }
+        if (softAces > 0) {
+            status |= HandStore.SOFT;
+        }
+        return status;
+    }
+}
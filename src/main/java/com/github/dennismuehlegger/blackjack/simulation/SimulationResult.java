@@ -0,0 +1,40 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+public class SimulationResult {
+    public final long rounds;
+    public final long[] wins;
+    public final long ties;
+    public final long noWinner;
+    public final long elapsedNanos;
+
+    public SimulationResult(long rounds, long[] wins, long ties, long noWinner, long elapsedNanos) {
+        this.rounds = rounds;
+        this.wins = wins;
+        this.ties = ties;
+        this.noWinner = noWinner;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double winRate(int seat) {
+        return rounds == 0 ? 0.0 : (double) wins[seat] / rounds;
+    }
+
+    public double roundsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rounds * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Rounds played: %,d in %.3f s (%,.0f rounds/s)%n",
+                rounds, elapsedNanos / 1_000_000_000.0, roundsPerSecond()));
+
+        for (int seat = 0; seat < wins.length; seat++) {
+            report.append(String.format("Seat %d wins: %,d (%.2f%%)%n", seat + 1, wins[seat], winRate(seat) * 100));
+        }
+
+        report.append(String.format("Ties: %,d%n", ties));
+        report.append(String.format("No winner: %,d", noWinner));
+        return report.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Shared by all tables of a run. Every counter is a LongAdder, so tables on different threads update their
+// own cells instead of fighting over one cache line; only snapshot() adds the cells up. Each table reports
+// through its own listener from newListener(), which keeps the per-game state.
+public class SimulationStatistics {
+    // Final hand values 0..21, every busted hand is counted in the last bucket.
+    public static final int BUSTED = RoundLogic.HIGHEST_SCORE + 1;
+
+    private final int seats;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder[] wins;
+    private final LongAdder ties = new LongAdder();
+    private final LongAdder allBusted = new LongAdder();
+    private final LongAdder lastPlayerStanding = new LongAdder();
+    private final LongAdder immediateWins = new LongAdder();
+    private final LongAdder roundsPlayed = new LongAdder();
+    private final LongAdder maxRoundGames = new LongAdder();
+    private final LongAdder[] handValues = new LongAdder[BUSTED + 1];
+
+    public SimulationStatistics(int seats) {
+        if (seats < 1 || seats > RoundLogic.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Between 1 and " + RoundLogic.MAX_PLAYERS + " seats are supported");
+        }
+
+        this.seats = seats;
+        this.wins = new LongAdder[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            wins[seat] = new LongAdder();
+        }
+        for (int value = 0; value < handValues.length; value++) {
+            handValues[value] = new LongAdder();
+        }
+    }
+
+    public GameListener newListener() {
+        return new TableListener();
+    }
+
+    public StatisticsSnapshot snapshot() {
+        long[] winCounts = new long[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            winCounts[seat] = wins[seat].sum();
+        }
+
+        long[] handValueCounts = new long[handValues.length];
+        for (int value = 0; value < handValues.length; value++) {
+            handValueCounts[value] = handValues[value].sum();
+        }
+
+        return new StatisticsSnapshot(games.sum(), winCounts, ties.sum(), allBusted.sum(), lastPlayerStanding.sum(),
+                immediateWins.sum(), roundsPlayed.sum(), maxRoundGames.sum(), handValueCounts);
+    }
+
+    public void reset() {
+        games.reset();
+        ties.reset();
+        allBusted.reset();
+        lastPlayerStanding.reset();
+        immediateWins.reset();
+        roundsPlayed.reset();
+        maxRoundGames.reset();
+        for (LongAdder seatWins : wins) {
+            seatWins.reset();
+        }
+        for (LongAdder count : handValues) {
+            count.reset();
+        }
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    private class TableListener implements GameListener {
+        private int rounds;
+
+        @Override
+        public void onRoundStarted(int round) {
+            rounds = round;
+        }
+
+        @Override
+        public void onImmediateWin(Winner result, List<Player> players) {
+            immediateWins.increment();
+            finish(result.winners, players);
+        }
+
+        @Override
+        public void onLastPlayerStanding(Player winner, List<Player> players) {
+            lastPlayerStanding.increment();
+            finish(List.of(winner), players);
+        }
+
+        @Override
+        public void onAllBusted(List<Player> players) {
+            allBusted.increment();
+            finish(List.of(), players);
+        }
+
+        @Override
+        public void onWinnerDetermined(Winner result, List<Player> players) {
+            finish(result.winners, players);
+        }
+
+        private void finish(List<Player> winners, List<Player> players) {
+            games.increment();
+            roundsPlayed.add(rounds);
+            if (rounds == RoundLogic.MAX_ROUNDS) {
+                maxRoundGames.increment();
+            }
+
+            if (winners.size() == 1) {
+                int seat = players.indexOf(winners.get(0));
+                if (seat < seats) {
+                    wins[seat].increment();
+                }
+            } else if (winners.size() > 1) {
+                ties.increment();
+            }
+
+            for (Player player : players) {
+                handValues[Math.min(player.getHandValue(), BUSTED)].increment();
+            }
+
+            rounds = 0;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.history.RoundLogWriter;
+import com.github.dennismuehlegger.blackjack.history.RoundRecorder;
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.jfr.GameEvent;
+import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.CompositeListener;
+import com.github.dennismuehlegger.blackjack.logic.DealPacing;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+import com.github.dennismuehlegger.blackjack.logic.GameMetrics;
+import com.github.dennismuehlegger.blackjack.logic.ListShoe;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public class Simulator {
+    private static final int DEFAULT_STAND_AT = 17;
+    private static final String USAGE = "Usage: Simulator [rounds] [players] [decks] [--strategy-table file]"
+            + " [--round-log file] [--statistics file.csv|file.json]";
+
+    private final int numDecks;
+    private final PlayerStrategy[] strategies;
+    private final List<Player> players;
+    private final CardLogic cardLogic;
+    private final RoundLogic roundLogic;
+    private final RandomGenerator random;
+    private RoundLogWriter roundLog;
+    private RoundRecorder recorder;
+    private SimulationStatistics statistics;
+    private GameListener statisticsListener;
+
+    public Simulator(int numDecks, List<PlayerStrategy> strategies) {
+        this(numDecks, strategies, RandomStreams.unseeded());
+    }
+
+    public Simulator(int numDecks, List<PlayerStrategy> strategies, RandomGenerator random) {
+        this(numDecks, strategies, random, new ListShoe());
+    }
+
+    // With a CutCardShoe the shoe carries over from game to game until the cut card is reached.
+    public Simulator(int numDecks, List<PlayerStrategy> strategies, RandomGenerator random, Shoe shoe) {
+        RoundLogic.checkPlayerCount(strategies.size());
+
+        this.numDecks = numDecks;
+        this.strategies = strategies.toArray(new PlayerStrategy[0]);
+        this.players = new ArrayList<>();
+        this.random = random;
+
+        this.cardLogic = new CardLogic(shoe, players);
+        this.cardLogic.setRandom(random);
+        this.cardLogic.setListener(GameListener.NONE);
+        this.cardLogic.setDealPacing(DealPacing.none());
+
+        this.roundLogic = new RoundLogic(cardLogic, null, players);
+        this.roundLogic.setStrategy(this::decide);
+
+        for (int seat = 0; seat < this.strategies.length; seat++) {
+            players.add(new Player("seat " + (seat + 1)));
+        }
+        this.cardLogic.fillDeck(numDecks);
+    }
+
+    public SimulationResult run(long rounds) {
+        long[] wins = new long[strategies.length];
+        long ties = 0;
+        long noWinner = 0;
+
+        long start = System.nanoTime();
+        for (long round = 0; round < rounds; round++) {
+            int winnerSeats = playGame();
+
+            if (winnerSeats == 0) {
+                noWinner++;
+            } else if (Integer.bitCount(winnerSeats) == 1) {
+                wins[Integer.numberOfTrailingZeros(winnerSeats)]++;
+            } else {
+                ties++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new SimulationResult(rounds, wins, ties, noWinner, elapsed);
+    }
+
+    public Winner playRound() {
+        playGame();
+        return roundLogic.getResult();
+    }
+
+    public Winner playRound(long seed) {
+        playGame(seed);
+        return roundLogic.getResult();
+    }
+
+    // Plays one game and returns the winning seats as bits, without building a Winner.
+    public int playGame() {
+        if (roundLog != null) {
+            // A logged game gets its own seed, so it can be replayed without the games before it.
+            return playGame(random.nextLong());
+        }
+
+        play();
+        return roundLogic.getWinnerSeats();
+    }
+
+    public int playGame(long seed) {
+        // A seeded game starts from a freshly filled shoe, so the seed alone decides its cards.
+        cardLogic.clearDeck();
+        cardLogic.fillDeck(numDecks);
+        cardLogic.setRandom(RandomStreams.seeded(seed));
+        if (recorder != null) {
+            recorder.reset();
+        }
+
+        try {
+            play();
+        } finally {
+            cardLogic.setRandom(random);
+        }
+
+        if (roundLog != null) {
+            try {
+                roundLog.append(seed, numDecks, recorder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return roundLogic.getWinnerSeats();
+    }
+
+    // Players and shoe are reused from game to game, so a headless game allocates nothing once it is warm.
+    private void play() {
+        roundLogic.reset();
+        cardLogic.shuffleIfCutCardReached();
+
+        GameEvent event = new GameEvent();
+        event.begin();
+
+        try {
+            cardLogic.dealInitialCards();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Headless deal was interrupted", e);
+        }
+
+        roundLogic.playRounds();
+        roundLogic.commitGameEvent(event);
+    }
+
+    public RoundLogWriter getRoundLog() {
+        return roundLog;
+    }
+
+    // A record holds only the seed and the decisions, and GameReplayer deals them from a fresh ListShoe. Games
+    // from any other shoe would replay with different cards and look corrupt.
+    public void setRoundLog(RoundLogWriter roundLog) {
+        if (roundLog != null && cardLogic.getShoe().getClass() != ListShoe.class) {
+            throw new IllegalStateException("Only games dealt from a ListShoe can be replayed from a round log, not from a "
+                    + cardLogic.getShoe().getClass().getSimpleName());
+        }
+
+        this.roundLog = roundLog;
+        this.recorder = roundLog != null ? new RoundRecorder(players) : null;
+        updateListener();
+    }
+
+    public SimulationStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(SimulationStatistics statistics) {
+        this.statistics = statistics;
+        this.statisticsListener = statistics != null ? statistics.newListener() : null;
+        updateListener();
+    }
+
+    private void updateListener() {
+        List<GameListener> listeners = new ArrayList<>();
+        if (recorder != null) {
+            listeners.add(recorder);
+        }
+        if (statisticsListener != null) {
+            listeners.add(statisticsListener);
+        }
+
+        GameListener listener = CompositeListener.of(listeners);
+        cardLogic.setListener(listener);
+    }
+
+    public GameMetrics getMetrics() {
+        return cardLogic.getMetrics();
+    }
+
+    public void setMetrics(GameMetrics metrics) {
+        cardLogic.setMetrics(metrics);
+    }
+
+    private boolean decide(Player player, List<Player> table, int round) {
+        return strategies[roundLogic.getCurrentSeat()].shouldHit(player, table, round);
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public RoundLogic getRoundLogic() {
+        return roundLogic;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            CommandLine.exitWithUsage(e, USAGE);
+            return;
+        }
+
+        List<PlayerStrategy> strategies = new ArrayList<>(Collections.nCopies(options.players, new ThresholdStrategy(DEFAULT_STAND_AT)));
+        if (options.strategyTable != null) {
+            // The first seat plays a strategy table written by StrategyTableGenerator.
+            strategies.set(0, StrategyTable.load(options.strategyTable));
+        }
+        Simulator simulator = new Simulator(options.decks, strategies);
+
+        if (options.statistics != null) {
+            simulator.setStatistics(new SimulationStatistics(options.players));
+        }
+
+        if (options.roundLog != null) {
+            try (RoundLogWriter roundLog = new RoundLogWriter(options.roundLog)) {
+                simulator.setRoundLog(roundLog);
+                System.out.println(simulator.run(options.rounds));
+            }
+        } else {
+            simulator.run(options.rounds / 10);
+            if (simulator.getStatistics() != null) {
+                simulator.getStatistics().reset();
+            }
+            System.out.println(simulator.run(options.rounds));
+        }
+
+        if (options.statistics != null) {
+            StatisticsSnapshot snapshot = simulator.getStatistics().snapshot();
+            System.out.println(snapshot);
+
+            Path statisticsFile = options.statistics;
+            Files.writeString(statisticsFile, statisticsFile.toString().endsWith(".json") ? snapshot.toJson() : snapshot.toCsv());
+        }
+    }
+
+    // The first three arguments are positional, the files are named, so leaving one out does not shift the others.
+    private static class Options {
+        private long rounds = 10_000_000L;
+        private int players = RoundLogic.MIN_PLAYERS;
+        private int decks = 1;
+        private Path strategyTable;
+        private Path roundLog;
+        private Path statistics;
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            int positional = 0;
+
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("--")) {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing file for " + arg);
+                    }
+                    Path file = Path.of(args[++i]);
+                    switch (arg) {
+                        case "--strategy-table" -> options.strategyTable = file;
+                        case "--round-log" -> options.roundLog = file;
+                        case "--statistics" -> options.statistics = file;
+                        default -> throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    continue;
+                }
+
+                switch (positional++) {
+                    case 0 -> options.rounds = CommandLine.parsePositive(arg, "rounds", Long.MAX_VALUE);
+                    case 1 -> options.players = (int) CommandLine.parsePositive(arg, "players", Integer.MAX_VALUE);
+                    case 2 -> options.decks = (int) CommandLine.parsePositive(arg, "decks", Integer.MAX_VALUE);
+                    default -> throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+            }
+
+            RoundLogic.checkPlayerCount(options.players);
+            return options;
+        }
+    }
+}
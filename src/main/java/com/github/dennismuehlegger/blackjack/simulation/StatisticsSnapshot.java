@@ -0,0 +1,130 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+
+import java.util.Locale;
+
+public class StatisticsSnapshot {
+    public final long games;
+    public final long[] wins;
+    public final long ties;
+    public final long allBusted;
+    public final long lastPlayerStanding;
+    public final long immediateWins;
+    public final long roundsPlayed;
+    public final long maxRoundGames;
+    // Index is the final hand value, SimulationStatistics.BUSTED counts every busted hand.
+    public final long[] handValues;
+
+    public StatisticsSnapshot(long games, long[] wins, long ties, long allBusted, long lastPlayerStanding,
+                              long immediateWins, long roundsPlayed, long maxRoundGames, long[] handValues) {
+        this.games = games;
+        this.wins = wins;
+        this.ties = ties;
+        this.allBusted = allBusted;
+        this.lastPlayerStanding = lastPlayerStanding;
+        this.immediateWins = immediateWins;
+        this.roundsPlayed = roundsPlayed;
+        this.maxRoundGames = maxRoundGames;
+        this.handValues = handValues;
+    }
+
+    public double winRate(int seat) {
+        return rate(wins[seat]);
+    }
+
+    public double tieRate() {
+        return rate(ties);
+    }
+
+    public double allBustedRate() {
+        return rate(allBusted);
+    }
+
+    public double immediateWinRate() {
+        return rate(immediateWins);
+    }
+
+    // Games decided by an immediate 21 count with zero rounds.
+    public double averageRounds() {
+        return rate(roundsPlayed);
+    }
+
+    private double rate(long count) {
+        return games == 0 ? 0.0 : (double) count / games;
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("metric,value\n");
+        csvLine(csv, "games", games);
+        for (int seat = 0; seat < wins.length; seat++) {
+            csvLine(csv, "wins_seat_" + (seat + 1), wins[seat]);
+        }
+        csvLine(csv, "ties", ties);
+        csvLine(csv, "all_busted", allBusted);
+        csvLine(csv, "last_player_standing", lastPlayerStanding);
+        csvLine(csv, "immediate_wins", immediateWins);
+        csvLine(csv, "rounds_played", roundsPlayed);
+        csvLine(csv, "max_round_games", maxRoundGames);
+        csv.append("average_rounds,").append(format(averageRounds())).append('\n');
+        for (int value = 0; value < handValues.length; value++) {
+            csvLine(csv, "hand_value_" + valueName(value), handValues[value]);
+        }
+        return csv.toString();
+    }
+
+    private static void csvLine(StringBuilder csv, String metric, long value) {
+        csv.append(metric).append(',').append(value).append('\n');
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"games\":").append(games);
+        json.append(",\"wins\":[");
+        for (int seat = 0; seat < wins.length; seat++) {
+            json.append(seat > 0 ? "," : "").append(wins[seat]);
+        }
+        json.append("],\"ties\":").append(ties);
+        json.append(",\"allBusted\":").append(allBusted);
+        json.append(",\"lastPlayerStanding\":").append(lastPlayerStanding);
+        json.append(",\"immediateWins\":").append(immediateWins);
+        json.append(",\"roundsPlayed\":").append(roundsPlayed);
+        json.append(",\"maxRoundGames\":").append(maxRoundGames);
+        json.append(",\"averageRounds\":").append(format(averageRounds()));
+        json.append(",\"handValues\":{");
+        for (int value = 0; value < handValues.length; value++) {
+            json.append(value > 0 ? "," : "").append('"').append(valueName(value)).append("\":").append(handValues[value]);
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String valueName(int value) {
+        return value == SimulationStatistics.BUSTED ? "busted" : String.valueOf(value);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games: %,d%n", games));
+        for (int seat = 0; seat < wins.length; seat++) {
+            report.append(String.format("Seat %d win rate: %.2f%%%n", seat + 1, winRate(seat) * 100));
+        }
+        report.append(String.format("Tie rate: %.2f%%%n", tieRate() * 100));
+        report.append(String.format("All busted: %.2f%%%n", allBustedRate() * 100));
+        report.append(String.format("Immediate 21: %.2f%%%n", immediateWinRate() * 100));
+        report.append(String.format("Average rounds: %.3f (%,d games reached round %d)%n", averageRounds(),
+                maxRoundGames, RoundLogic.MAX_ROUNDS));
+
+        report.append("Final hand values:");
+        for (int value = 0; value < handValues.length; value++) {
+            if (handValues[value] > 0) {
+                report.append(String.format("%n  %6s: %,d", valueName(value), handValues[value]));
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// One precomputed hit/stand decision per (hand value, soft, opponents still in play, bucket of the best
+// opponent total, round), so a decision costs one scan of the table and one array read.
+public class StrategyTable implements PlayerStrategy {
+    public static final int VALUES = RoundLogic.HIGHEST_SCORE + 1;
+    public static final int MAX_OPPONENTS = RoundLogic.MAX_PLAYERS - 1;
+
+    // Inclusive upper bound of each bucket of the best opponent total.
+    private static final int[] BUCKET_LIMITS = {12, 16, 17, 18, 19, RoundLogic.HIGHEST_SCORE};
+    private static final int[] BUCKET_TOTALS = {10, 15, 17, 18, 19, 20};
+    public static final int BUCKETS = BUCKET_LIMITS.length;
+
+    public static final int SIZE = RoundLogic.MAX_ROUNDS * MAX_OPPONENTS * BUCKETS * 2 * VALUES;
+
+    private static final byte HIT = 1;
+
+    private final byte[] decisions;
+
+    public StrategyTable(byte[] decisions) {
+        if (decisions.length != SIZE) {
+            throw new IllegalArgumentException("A strategy table needs " + SIZE + " decisions, got " + decisions.length);
+        }
+        this.decisions = decisions.clone();
+    }
+
+    public static int index(int value, boolean soft, int opponents, int bucket, int round) {
+        int index = (round - 1) * MAX_OPPONENTS + (opponents - 1);
+        index = index * BUCKETS + bucket;
+        index = index * 2 + (soft ? 1 : 0);
+        return index * VALUES + value;
+    }
+
+    public static int bucketOf(int total) {
+        for (int bucket = 0; bucket < BUCKETS - 1; bucket++) {
+            if (total <= BUCKET_LIMITS[bucket]) {
+                return bucket;
+            }
+        }
+        return BUCKETS - 1;
+    }
+
+    // The total that stands in for every opponent total of a bucket when the table is generated.
+    public static int representativeTotal(int bucket) {
+        return BUCKET_TOTALS[bucket];
+    }
+
+    @Override
+    public boolean shouldHit(Player player, List<Player> players, int round) {
+        int opponents = 0;
+        int bestOpponent = 0;
+
+        for (Player other : players) {
+            if (other != player && !other.isOut()) {
+                opponents++;
+                bestOpponent = Math.max(bestOpponent, other.getHandValue());
+            }
+        }
+
+        if (opponents == 0 || player.getHandValue() >= VALUES) {
+            return false;
+        }
+
+        int index = index(player.getHandValue(), player.isSoft(), Math.min(opponents, MAX_OPPONENTS),
+                bucketOf(bestOpponent), Math.max(1, Math.min(round, RoundLogic.MAX_ROUNDS)));
+        return decisions[index] == HIT;
+    }
+
+    public boolean isHit(int index) {
+        return decisions[index] == HIT;
+    }
+
+    public void save(Path path) throws IOException {
+        Files.write(path, decisions);
+    }
+
+    public static StrategyTable load(Path path) throws IOException {
+        return new StrategyTable(Files.readAllBytes(path));
+    }
+}
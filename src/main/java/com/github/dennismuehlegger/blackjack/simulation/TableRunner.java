@@ -0,0 +1,157 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
+import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+// Strategies are shared by all tables and therefore have to be thread-safe.
+public class TableRunner {
+    private static final int DEFAULT_STAND_AT = 17;
+    private static final int TABLES_PER_THREAD = 4;
+    private static final String USAGE = "Usage: TableRunner [rounds per table] [players] [decks]";
+
+    private final int numDecks;
+    private final List<PlayerStrategy> strategies;
+    private final long seed;
+    private SimulationStatistics statistics;
+
+    public TableRunner(int numDecks, List<PlayerStrategy> strategies, long seed) {
+        if (numDecks <= 0) {
+            throw new IllegalArgumentException("At least one deck is needed");
+        }
+        RoundLogic.checkPlayerCount(strategies.size());
+
+        this.numDecks = numDecks;
+        this.strategies = List.copyOf(strategies);
+        this.seed = seed;
+    }
+
+    public SimulationResult run(int tables, long roundsPerTable, int threads) {
+        if (tables <= 0 || roundsPerTable <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Tables, rounds per table and threads must be positive");
+        }
+
+        LongAdder rounds = new LongAdder();
+        LongAdder ties = new LongAdder();
+        LongAdder noWinner = new LongAdder();
+        LongAdder[] wins = new LongAdder[strategies.size()];
+        for (int seat = 0; seat < wins.length; seat++) {
+            wins[seat] = new LongAdder();
+        }
+
+        RandomStreams streams = new RandomStreams(seed);
+        List<Future<?>> futures = new ArrayList<>(tables);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int table = 0; table < tables; table++) {
+                RandomGenerator random = streams.nextStream();
+                futures.add(executor.submit(() -> {
+                    Simulator simulator = new Simulator(numDecks, strategies, random);
+                    simulator.setStatistics(statistics);
+                    SimulationResult result = simulator.run(roundsPerTable);
+
+                    rounds.add(result.rounds);
+                    ties.add(result.ties);
+                    noWinner.add(result.noWinner);
+                    for (int seat = 0; seat < wins.length; seat++) {
+                        wins[seat].add(result.wins[seat]);
+                    }
+                }));
+            }
+            awaitAll(futures);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] totalWins = new long[wins.length];
+        for (int seat = 0; seat < wins.length; seat++) {
+            totalWins[seat] = wins[seat].sum();
+        }
+        return new SimulationResult(rounds.sum(), totalWins, ties.sum(), noWinner.sum(), elapsed);
+    }
+
+    public SimulationStatistics getStatistics() {
+        return statistics;
+    }
+
+    // Every table of the following runs reports into these statistics.
+    public void setStatistics(SimulationStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    private void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Table failed", e.getCause());
+        }
+    }
+
+    public String scalingReport(long roundsPerTable) {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int tables = maxThreads * TABLES_PER_THREAD;
+
+        run(tables, Math.max(1, roundsPerTable / 10), maxThreads);
+
+        StringBuilder report = new StringBuilder();
+        double singleThreaded = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            double roundsPerSecond = run(tables, roundsPerTable, threads).roundsPerSecond();
+            if (threads == 1) {
+                singleThreaded = roundsPerSecond;
+            }
+
+            report.append(String.format("Threads: %2d  %,14.0f rounds/s  %,12.0f rounds/s per thread  speedup %.2fx%n",
+                    threads, roundsPerSecond, roundsPerSecond / threads, roundsPerSecond / singleThreaded));
+        }
+        return report.toString();
+    }
+
+    private int nextThreadCount(int threads, int maxThreads) {
+        return threads < maxThreads && threads * 2 > maxThreads ? maxThreads : threads * 2;
+    }
+
+    public static void main(String[] args) {
+        long roundsPerTable = 1_000_000L;
+        int numPlayers = RoundLogic.MIN_PLAYERS;
+        int numDecks = 1;
+        try {
+            if (args.length > 3) {
+                throw new IllegalArgumentException("Unexpected argument " + args[3]);
+            }
+            if (args.length > 0) {
+                roundsPerTable = CommandLine.parsePositive(args[0], "rounds per table", Long.MAX_VALUE);
+            }
+            if (args.length > 1) {
+                numPlayers = (int) CommandLine.parsePositive(args[1], "players", Integer.MAX_VALUE);
+            }
+            if (args.length > 2) {
+                numDecks = (int) CommandLine.parsePositive(args[2], "decks", Integer.MAX_VALUE);
+            }
+            RoundLogic.checkPlayerCount(numPlayers);
+        } catch (IllegalArgumentException e) {
+            CommandLine.exitWithUsage(e, USAGE);
+            return;
+        }
+
+        List<PlayerStrategy> strategies = Collections.nCopies(numPlayers, new ThresholdStrategy(DEFAULT_STAND_AT));
+        TableRunner runner = new TableRunner(numDecks, strategies, System.nanoTime());
+
+        System.out.print(runner.scalingReport(roundsPerTable));
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+
+import java.util.List;
+
+public class ThresholdStrategy implements PlayerStrategy {
+    private final int standAt;
+
+    public ThresholdStrategy(int standAt) {
+        this.standAt = standAt;
+    }
+
+    @Override
+    public boolean shouldHit(Player player, List<Player> players, int round) {
+        return player.getHandValue() < standAt;
+    }
+
+    public int getStandAt() {
+        return standAt;
+    }
+}
@@ -1,15 +1,74 @@
 
 package com.github.dennismuehlegger.blackjack;
 
+import com.github.dennismuehlegger.blackjack.analysis.PackedHand;
+import com.github.dennismuehlegger.blackjack.analysis.PackedTable;
+import com.github.dennismuehlegger.blackjack.analysis.StrategyTableGenerator;
+import com.github.dennismuehlegger.blackjack.analysis.TranspositionCache;
+import com.github.dennismuehlegger.blackjack.analysis.WinProbabilityCalculator;
 import com.github.dennismuehlegger.blackjack.game.BlackjackGame;
 import com.github.dennismuehlegger.blackjack.game.Card;
 import com.github.dennismuehlegger.blackjack.game.Player;
+import com.github.dennismuehlegger.blackjack.game.Winner;
+import com.github.dennismuehlegger.blackjack.history.LogVerifier;
+import com.github.dennismuehlegger.blackjack.history.RoundLogReader;
+import com.github.dennismuehlegger.blackjack.history.RoundLogWriter;
+import com.github.dennismuehlegger.blackjack.history.RoundRecord;
+import com.github.dennismuehlegger.blackjack.history.RoundRecorder;
+import com.github.dennismuehlegger.blackjack.history.VerificationResult;
 import com.github.dennismuehlegger.blackjack.logic.CardLogic;
+import com.github.dennismuehlegger.blackjack.logic.ConsoleRenderer;
+import com.github.dennismuehlegger.blackjack.logic.CountingShoe;
+import com.github.dennismuehlegger.blackjack.logic.CutCardShoe;
+import com.github.dennismuehlegger.blackjack.logic.DealPacing;
+import com.github.dennismuehlegger.blackjack.logic.Decision;
+import com.github.dennismuehlegger.blackjack.logic.GameListener;
+import com.github.dennismuehlegger.blackjack.logic.GameTimer;
+import com.github.dennismuehlegger.blackjack.logic.ListShoe;
+import com.github.dennismuehlegger.blackjack.logic.PlayerStrategy;
+import com.github.dennismuehlegger.blackjack.logic.RandomStreams;
 import com.github.dennismuehlegger.blackjack.logic.RoundLogic;
+import com.github.dennismuehlegger.blackjack.logic.ScheduledDealPacing;
+import com.github.dennismuehlegger.blackjack.logic.Shoe;
+import com.github.dennismuehlegger.blackjack.logic.TimedDecisionStrategy;
+import com.github.dennismuehlegger.blackjack.metrics.LatencyHistogram;
+import com.github.dennismuehlegger.blackjack.metrics.MetricsRegistry;
+import com.github.dennismuehlegger.blackjack.metrics.PrometheusEndpoint;
+import com.github.dennismuehlegger.blackjack.server.GameServer;
+import com.github.dennismuehlegger.blackjack.server.LoadTestClient;
+import com.github.dennismuehlegger.blackjack.server.LoadTestResult;
+import com.github.dennismuehlegger.blackjack.simulation.HandStore;
+import com.github.dennismuehlegger.blackjack.simulation.SimulationResult;
+import com.github.dennismuehlegger.blackjack.simulation.SimulationStatistics;
+import com.github.dennismuehlegger.blackjack.simulation.Simulator;
+import com.github.dennismuehlegger.blackjack.simulation.StatisticsSnapshot;
+import com.github.dennismuehlegger.blackjack.simulation.StrategyTable;
+import com.github.dennismuehlegger.blackjack.simulation.TableRunner;
+import com.github.dennismuehlegger.blackjack.simulation.ThresholdStrategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Test;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 
 import static org.junit.Assert.*;
 
@@ -101,6 +160,178 @@ public class BlackjackTests {
         assertEquals("2 decks should have 104 cards", 104, cardLogic.getDeck().size());
     }
 
+    @Test
+    public void testDeckUsesCanonicalCards() {
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), new ArrayList<>());
+        cardLogic.fillDeck(2);
+
+        List<Card> deck = cardLogic.getDeck();
+        for (int i = 0; i < deck.size(); i++) {
+            Card card = deck.get(i);
+            assertSame("card should be the canonical instance", Card.of(i % 52), card);
+            assertEquals("value lookup should match the card", card.getValue(), Card.valueOf(card.getCode()));
+        }
+
+        assertEquals("ace of spades should be encoded like the canonical card", "A♠", Card.of(new Card(11, "♠", "A").getCode()).toString());
+    }
+
+    @Test
+    public void testDrawCardUntilDeckIsEmpty() {
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), new ArrayList<>());
+        cardLogic.setRandom(RandomStreams.seeded(7));
+        cardLogic.fillDeck(1);
+
+        Set<String> drawnCards = new HashSet<>();
+        for (int i = 0; i < 52; i++) {
+            drawnCards.add(cardLogic.drawCard().toString());
+            assertEquals("remaining deck should shrink with every draw", 51 - i, cardLogic.getDeck().size());
+        }
+
+        assertEquals("every card should be drawn exactly once", 52, drawnCards.size());
+    }
+
+    @Test
+    public void testCountingShoeDrawsEveryCardOnce() {
+        CardLogic cardLogic = new CardLogic(new CountingShoe(), new ArrayList<>());
+        cardLogic.setRandom(RandomStreams.seeded(11));
+        cardLogic.fillDeck(1);
+
+        Set<Card> drawnCards = new HashSet<>();
+        for (int i = 0; i < 52; i++) {
+            drawnCards.add(cardLogic.drawCard());
+        }
+
+        assertEquals("every card should be drawn exactly once", 52, drawnCards.size());
+        assertEquals("shoe should be empty", 0, cardLogic.getShoe().size());
+    }
+
+    @Test
+    public void testCountingShoeSupportsLargeShoesAndCopies() {
+        CountingShoe shoe = new CountingShoe(500);
+        Shoe copy = shoe.copy();
+
+        Card card = shoe.draw(RandomStreams.seeded(5));
+
+        assertEquals("500 decks should hold 26000 cards", 25_999, shoe.size());
+        assertEquals("drawn card should be taken from the composition", 499, shoe.count(card.getCode()));
+        assertEquals("copy should not change with the original", 26_000, copy.size());
+        assertEquals("copy should keep its composition", 500, copy.getComposition()[card.getCode()]);
+    }
+
+    @Test
+    public void testRandomStreamsAreReproducible() {
+        RandomStreams first = new RandomStreams(42);
+        RandomStreams second = new RandomStreams(42);
+
+        List<String> firstDraws = drawCards(first.nextStream(), 10);
+        List<String> otherTableDraws = drawCards(first.nextStream(), 10);
+
+        assertEquals("same master seed should give the same first stream", firstDraws, drawCards(second.nextStream(), 10));
+        assertEquals("same master seed should give the same second stream", otherTableDraws, drawCards(second.nextStream(), 10));
+        assertNotEquals("tables should get different streams", firstDraws, otherTableDraws);
+    }
+
+    @Test
+    public void testDealInitialCardsWithoutDelay() throws InterruptedException {
+        List<Player> players = Arrays.asList(new Player("dennis"), new Player("lejla"), new Player("ethan"));
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), players);
+        cardLogic.setDealPacing(DealPacing.none());
+        cardLogic.fillDeck(1);
+
+        long start = System.nanoTime();
+        cardLogic.dealInitialCards();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue("dealing should not wait between cards", elapsedMs < 1000);
+        for (Player player : players) {
+            assertEquals("every player should get two cards", 2, player.getHand().size());
+        }
+    }
+
+    @Test
+    public void testScheduledDealPacingKeepsDealOrder() throws Exception {
+        ScheduledDealPacing pacing = new ScheduledDealPacing(5, Runnable::run);
+        List<String> announcements = Collections.synchronizedList(new ArrayList<>());
+
+        pacing.announce(() -> announcements.add("header"));
+        pacing.announceCard(() -> announcements.add("first card"));
+        pacing.announceCard(() -> announcements.add("second card"));
+        pacing.announce(() -> announcements.add("hands"));
+        pacing.whenIdle().get(1, TimeUnit.SECONDS);
+
+        assertEquals("announcements should keep the deal order",
+                Arrays.asList("header", "first card", "second card", "hands"), announcements);
+    }
+
+    @Test(timeout = 30_000)
+    public void testScheduledDealPacingShowsTheDealtHandsBeforeTheFirstHit() throws Exception {
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            deck.add(new Card(2, "♠", "2"));
+        }
+        List<Player> players = Arrays.asList(new Player("dennis"), new Player("marco"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CardLogic cardLogic = new CardLogic(deck, players);
+            cardLogic.setListener(new ConsoleRenderer(new PrintStream(output, true, StandardCharsets.UTF_8)));
+            cardLogic.setDealPacing(new ScheduledDealPacing(20, executor));
+
+            RoundLogic roundLogic = new RoundLogic(cardLogic, null, players);
+            roundLogic.setStrategy((player, table, round) -> player.getName().equals("dennis") && round == 1);
+
+            cardLogic.dealInitialCards();
+            roundLogic.playRounds();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String text = output.toString(StandardCharsets.UTF_8);
+        int lastCardDealt = text.lastIndexOf(" gets: ");
+        int handsShown = text.indexOf("=== Current hand ===");
+        int firstRound = text.indexOf("*** ROUND 1 ***");
+        int firstHit = text.indexOf("dennis draws");
+        assertTrue("every dealt card should be shown before the dealt hands", lastCardDealt < handsShown);
+        assertTrue("the dealt hands should be shown before the first round", handsShown < firstRound);
+        assertTrue("player dennis should hit in the first round", firstRound < firstHit);
+        assertTrue("player dennis should be shown with the dealt hand",
+                text.substring(handsShown, firstRound).contains("dennis: 4"));
+    }
+
+    @Test
+    public void testOnlyDeferredDealAnnouncementsCopyTheHands() throws Exception {
+        List<Player> players = Arrays.asList(new Player("dennis"), new Player("marco"));
+        List<List<Player>> shown = new ArrayList<>();
+        GameListener listener = new GameListener() {
+            @Override
+            public void onHandsShown(List<Player> hands) {
+                shown.add(hands);
+            }
+        };
+
+        CardLogic synchronous = new CardLogic(new CountingShoe(1), players);
+        synchronous.setListener(listener);
+        synchronous.setDealPacing(DealPacing.none());
+        synchronous.dealInitialCards();
+        assertSame("a synchronous deal should show the players themselves", players, shown.get(0));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (Player player : players) {
+                player.reset();
+            }
+            CardLogic deferred = new CardLogic(new CountingShoe(1), players);
+            deferred.setListener(listener);
+            deferred.setDealPacing(new ScheduledDealPacing(0, executor));
+            deferred.dealInitialCards();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNotSame("a deferred deal should show a copy of the dealt hands", players, shown.get(1));
+        assertEquals("the copy should keep the hand of player dennis", players.get(0).getHand(), shown.get(1).get(0).getHand());
+    }
+
     @Test
     public void testAceCalculation() {
         Player dennis = new Player("dennis");
@@ -111,6 +342,19 @@ public class BlackjackTests {
         assertFalse(dennis.isBusted());
     }
 
+    @Test
+    public void testHandCanOnlyChangeThroughThePlayer() {
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+
+        try {
+            dennis.getHand().add(new Card(11, "♠", "A"));
+            fail("the hand of player dennis should be read-only");
+        } catch (UnsupportedOperationException e) {
+            assertEquals("player dennis should keep the hand value", 10, dennis.getHandValue());
+        }
+    }
+
     @Test
     public void testAceCalculationPotentialBust() {
         Player dennis = new Player("dennis");
@@ -122,6 +366,16 @@ public class BlackjackTests {
         assertFalse(dennis.isBusted());
     }
 
+    @Test
+    public void testIncrementalHandValueMatchesFullRecalculation() {
+        Card[] cards = new Card[10];
+        for (int rank = 0; rank < 13; rank++) {
+            cards[Card.valueOf(rank) - 2] = Card.of(rank);
+        }
+
+        assertEquals("tracked hand values should match", 0, checkHandValues(cards, 0, new ArrayList<>()));
+    }
+
     @Test
     public void testInputPlayerBusts() {
         List<Card> deck = new ArrayList<>();
@@ -400,6 +654,1114 @@ public class BlackjackTests {
         assertEquals("player ellis should have 12 points",12, ellis.getHandValue());
     }
 
+    @Test
+    public void testHeadlessPlayRoundsUsesStrategy() {
+        List<Card> deck = new ArrayList<>();
+        deck.add(new Card(3, "♥", "3"));
+        deck.add(new Card(8, "♥", "8"));
+
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+        dennis.addCard(new Card(5, "♣", "5"));
+
+        Player lejla = new Player("lejla");
+        lejla.addCard(new Card(7, "♦", "7"));
+        lejla.addCard(new Card(3, "♥", "3"));
+
+        List<Player> players = Arrays.asList(dennis, lejla);
+        CardLogic cardLogic = new CardLogic(deck, players);
+        cardLogic.setRandom(createDeterministicRandom());
+        cardLogic.setListener(GameListener.NONE);
+
+        RoundLogic roundLogic = new RoundLogic(cardLogic, null, players);
+        roundLogic.setStrategy(new ThresholdStrategy(17));
+
+        roundLogic.playRounds();
+
+        assertEquals("player dennis should have 18 points", 18, dennis.getHandValue());
+        assertEquals("player lejla should have 18 points", 18, lejla.getHandValue());
+        assertEquals("both players should tie", Arrays.asList(dennis, lejla), roundLogic.getResult().winners);
+        assertEquals("tie should be at 18 points", 18, roundLogic.getResult().highestScore);
+    }
+
+    @Test
+    public void testRoundLogicReportsToSinksSetOnTheCardLogicLater() {
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+        dennis.addCard(new Card(5, "♣", "5"));
+
+        Player lejla = new Player("lejla");
+        lejla.addCard(new Card(7, "♦", "7"));
+        lejla.addCard(new Card(3, "♥", "3"));
+
+        List<Player> players = Arrays.asList(dennis, lejla);
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(List.of(new Card(3, "♥", "3"), new Card(8, "♥", "8"))), players);
+        cardLogic.setRandom(createDeterministicRandom());
+        RoundLogic roundLogic = new RoundLogic(cardLogic, null, players);
+        roundLogic.setStrategy(new ThresholdStrategy(17));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MetricsRegistry registry = new MetricsRegistry();
+        cardLogic.setListener(new ConsoleRenderer(new PrintStream(output, true, StandardCharsets.UTF_8)));
+        cardLogic.setMetrics(registry);
+
+        roundLogic.playRounds();
+
+        assertTrue("the turns should reach the listener set afterwards",
+                output.toString(StandardCharsets.UTF_8).contains("--- dennis turn ---"));
+        assertTrue("the turns should reach the metrics set afterwards",
+                registry.getHistogram(GameTimer.PLAY_TURN).getCount() > 0);
+    }
+
+    @Test
+    public void testConsoleRendererShowsTie() {
+        List<Card> deck = new ArrayList<>();
+        deck.add(new Card(3, "♥", "3"));
+        deck.add(new Card(8, "♥", "8"));
+
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+        dennis.addCard(new Card(5, "♣", "5"));
+
+        Player lejla = new Player("lejla");
+        lejla.addCard(new Card(7, "♦", "7"));
+        lejla.addCard(new Card(3, "♥", "3"));
+
+        List<Player> players = Arrays.asList(dennis, lejla);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CardLogic cardLogic = new CardLogic(deck, players);
+        cardLogic.setRandom(createDeterministicRandom());
+        cardLogic.setListener(new ConsoleRenderer(new PrintStream(output, true)));
+
+        RoundLogic roundLogic = new RoundLogic(cardLogic, null, players);
+        roundLogic.setStrategy(new ThresholdStrategy(17));
+
+        roundLogic.playRounds();
+
+        String console = output.toString();
+        assertTrue("round header should be shown", console.contains("*** ROUND 2 ***"));
+        assertTrue("draw should be shown", console.contains("dennis draws: 3♥"));
+        assertTrue("stand should be shown", console.contains("lejla stands (hand stays 18)"));
+        assertTrue("tie should be announced", console.contains("Players with 18: dennis, lejla"));
+    }
+
+    @Test
+    public void testWinProbabilityWhenStandingTies() {
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+        dennis.addCard(new Card(10, "♣", "K"));
+        dennis.setStanding(true);
+
+        Player lejla = new Player("lejla");
+        lejla.addCard(new Card(10, "♥", "10"));
+        lejla.addCard(new Card(10, "♠", "Q"));
+
+        List<Card> deck = List.of(new Card(5, "♥", "5"));
+
+        double[] odds = new WinProbabilityCalculator().calculate(Arrays.asList(dennis, lejla), deck, 1, 1);
+
+        assertEquals("dennis should tie", 1.0, odds[0], 1e-9);
+        assertEquals("lejla should stand and tie", 1.0, odds[1], 1e-9);
+    }
+
+    @Test
+    public void testWinProbabilityWhenHittingIsTheOnlyChance() {
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♦", "10"));
+        dennis.addCard(new Card(10, "♣", "K"));
+        dennis.setStanding(true);
+
+        Player lejla = new Player("lejla");
+        lejla.addCard(new Card(10, "♥", "10"));
+        lejla.addCard(new Card(9, "♠", "9"));
+
+        List<Card> deck = List.of(new Card(2, "♥", "2"), new Card(10, "♥", "J"));
+
+        double[] odds = new WinProbabilityCalculator().calculate(Arrays.asList(dennis, lejla), deck, 1, 1);
+
+        assertEquals("dennis should win when lejla busts", 0.5, odds[0], 1e-9);
+        assertEquals("lejla should hit and reach 21 with the 2", 0.5, odds[1], 1e-9);
+    }
+
+    @Test
+    public void testWinProbabilityFromInitialDeal() {
+        List<Player> players = Arrays.asList(new Player("dennis"), new Player("lejla"));
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), players);
+        cardLogic.setRandom(RandomStreams.seeded(3));
+        cardLogic.setListener(GameListener.NONE);
+        cardLogic.fillDeck(8);
+        for (Player player : players) {
+            player.addCard(cardLogic.drawCard());
+            player.addCard(cardLogic.drawCard());
+        }
+
+        double[] odds = new WinProbabilityCalculator().calculate(players, cardLogic.getDeck());
+
+        double total = 0;
+        for (double odd : odds) {
+            assertTrue("odds should be a probability", odd >= 0 && odd <= 1);
+            total += odd;
+        }
+        assertTrue("someone should win almost always", total >= 0.9);
+    }
+
+    @Test
+    public void testSimulatorCountsEveryRound() {
+        Simulator simulator = new Simulator(1,
+                Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(15), new ThresholdStrategy(19)),
+                RandomStreams.seeded(42));
+
+        SimulationResult result = simulator.run(10_000);
+
+        long decided = result.ties + result.noWinner;
+        for (long wins : result.wins) {
+            decided += wins;
+        }
+
+        assertEquals("every round should have an outcome", 10_000, decided);
+        assertTrue("seat 1 should win some rounds", result.wins[0] > 0);
+    }
+
+    @Test
+    public void testSimulatorAsksTheStrategyOfTheSeatWhoseTurnItIs() {
+        int[] asked = new int[3];
+        List<PlayerStrategy> strategies = new ArrayList<>();
+        for (int seat = 0; seat < asked.length; seat++) {
+            int expectedSeat = seat;
+            strategies.add((player, table, round) -> {
+                assertEquals("the strategy of seat " + expectedSeat + " should decide for its own player",
+                        expectedSeat, table.indexOf(player));
+                asked[expectedSeat]++;
+                return player.getHandValue() < 17;
+            });
+        }
+
+        new Simulator(1, strategies, RandomStreams.seeded(42)).run(1_000);
+
+        for (int seat = 0; seat < asked.length; seat++) {
+            assertTrue("the strategy of seat " + seat + " should have been asked", asked[seat] > 0);
+        }
+    }
+
+    @Test
+    public void testTableRunnerRejectsEmptyRuns() {
+        TableRunner runner = new TableRunner(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17)), 42);
+        int[][] runs = {{0, 10, 1}, {1, 0, 1}, {1, 10, 0}, {-1, 10, 1}};
+        for (int[] run : runs) {
+            try {
+                runner.run(run[0], run[1], run[2]);
+                fail("a run of " + Arrays.toString(run) + " tables, rounds and threads should be rejected");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testTableRunnerResultsDoNotDependOnThreadCount() {
+        TableRunner runner = new TableRunner(2, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(16)), 42);
+
+        SimulationResult singleThreaded = runner.run(6, 1_000, 1);
+        SimulationResult multiThreaded = runner.run(6, 1_000, 3);
+
+        assertEquals("all tables should play all rounds", 6_000, multiThreaded.rounds);
+        assertArrayEquals("seeded tables should win the same rounds", singleThreaded.wins, multiThreaded.wins);
+        assertEquals("seeded tables should tie the same rounds", singleThreaded.ties, multiThreaded.ties);
+    }
+
+    @Test(timeout = 30_000)
+    public void testGameServerPlaysTablesForRemotePlayers() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1)) {
+            server.start();
+
+            LoadTestResult result = new LoadTestClient("localhost", server.getPort(), 17).run(10, 3);
+
+            assertEquals("every client should finish all of its games", 30, result.games);
+            assertEquals("two clients should share every table", 15, result.tables);
+            assertTrue("clients should have been asked for decisions", result.decisions > 0);
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testLoadTestClientGivesUpWhenATableNeverFills() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1)) {
+            server.start();
+
+            LoadTestClient client = new LoadTestClient("localhost", server.getPort(), 17);
+            client.setTimeoutMillis(200);
+            try {
+                client.run(3, 1);
+                fail("the third client should never be seated");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testTimedDecisionStrategyStandsWhenNoAnswerArrives() {
+        Player dennis = new Player("dennis");
+        List<Player> players = List.of(dennis);
+
+        TimedDecisionStrategy silent = new TimedDecisionStrategy((player, table, round) -> new CompletableFuture<>(), 50);
+        TimedDecisionStrategy failing = new TimedDecisionStrategy((player, table, round) ->
+                CompletableFuture.failedFuture(new IllegalStateException("connection lost")), 50);
+        TimedDecisionStrategy answering = new TimedDecisionStrategy((player, table, round) ->
+                CompletableFuture.completedFuture(Decision.HIT), 50);
+        TimedDecisionStrategy throwing = new TimedDecisionStrategy((player, table, round) -> {
+            throw new IllegalStateException("connection lost");
+        }, 50);
+        TimedDecisionStrategy withoutFuture = new TimedDecisionStrategy((player, table, round) -> null, 50);
+
+        assertFalse("player dennis should stand when the turn times out", silent.shouldHit(dennis, players, 1));
+        assertFalse("player dennis should stand when the decision fails", failing.shouldHit(dennis, players, 1));
+        assertTrue("player dennis should hit when the answer arrives in time", answering.shouldHit(dennis, players, 1));
+        assertFalse("player dennis should stand when the provider throws", throwing.shouldHit(dennis, players, 1));
+        assertFalse("player dennis should stand when the provider returns no future", withoutFuture.shouldHit(dennis, players, 1));
+    }
+
+    @Test
+    public void testResetKeepsPlayersAndRefillsTheShoe() {
+        for (Shoe shoe : List.of(new ListShoe(), new CountingShoe())) {
+            shoe.fill(2);
+            int[] composition = shoe.getComposition();
+            RandomGenerator random = RandomStreams.seeded(5);
+            for (int i = 0; i < 40; i++) {
+                shoe.draw(random);
+            }
+
+            shoe.reshuffle();
+            assertEquals("a reshuffled shoe should hold every card again", 104, shoe.size());
+            assertArrayEquals("a reshuffled shoe should hold the same cards", composition, shoe.getComposition());
+        }
+
+        Simulator simulator = new Simulator(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17)),
+                RandomStreams.seeded(9));
+        List<Player> seats = new ArrayList<>(simulator.getPlayers());
+        for (int game = 0; game < 100; game++) {
+            simulator.playGame();
+        }
+        assertEquals("the simulator should keep its players", seats, simulator.getPlayers());
+
+        Player firstSeat = simulator.getPlayers().get(0);
+        simulator.getRoundLogic().reset();
+        assertTrue("the first seat should have an empty hand after a reset", firstSeat.getHand().isEmpty());
+        assertEquals("the first seat should have no points after a reset", 0, firstSeat.getHandValue());
+        assertFalse("the first seat should not be out after a reset", firstSeat.isOut());
+        assertFalse("the first seat should not stand after a reset", firstSeat.isStanding());
+        assertNull("a reset table should have no result", simulator.getRoundLogic().getResult());
+    }
+
+    @Test
+    public void testCutCardShoeCarriesOverUntilTheCutCard() {
+        CutCardShoe shoe = new CutCardShoe(new ListShoe(), 0.5);
+        shoe.fill(1);
+        CardLogic cardLogic = new CardLogic(shoe, new ArrayList<>());
+        cardLogic.setListener(GameListener.NONE);
+        cardLogic.setRandom(RandomStreams.seeded(13));
+
+        for (int i = 0; i < 20; i++) {
+            cardLogic.drawCard();
+        }
+        assertFalse("the shoe should not be shuffled before the cut card", cardLogic.shuffleIfCutCardReached());
+        assertEquals("the shoe should keep its remaining cards", 32, shoe.size());
+        assertEquals("the composition should match the remaining cards", 32, Arrays.stream(shoe.getComposition()).sum());
+
+        for (int i = 0; i < 6; i++) {
+            cardLogic.drawCard();
+        }
+        assertTrue("the shoe should be shuffled at the cut card", cardLogic.shuffleIfCutCardReached());
+        assertEquals("a shuffled shoe should hold every card again", 52, shoe.size());
+
+        for (int i = 0; i < 40; i++) {
+            cardLogic.drawCard();
+        }
+        shoe.discardHands();
+        for (int i = 0; i < 13; i++) {
+            cardLogic.drawCard();
+        }
+        assertEquals("an empty shoe should get the discards back instead of failing", 39, shoe.size());
+        assertEquals("the shoe should count its shuffles", 2, shoe.getShuffles());
+
+        CutCardShoe sixDecks = new CutCardShoe(new ListShoe(), 0.75);
+        Simulator simulator = new Simulator(6, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17)),
+                RandomStreams.seeded(17), sixDecks);
+        simulator.run(1_000);
+        assertTrue("a six deck shoe should last for many games",
+                sixDecks.getShuffles() > 0 && sixDecks.getShuffles() < 100);
+    }
+
+    @Test
+    public void testWinnerSeatsMatchTheWinner() {
+        Simulator simulator = new Simulator(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17),
+                new ThresholdStrategy(16)), RandomStreams.seeded(3));
+
+        int mismatches = 0;
+        int ties = 0;
+        for (int game = 0; game < 5_000; game++) {
+            Winner result = simulator.playRound();
+
+            int winnerSeats = 0;
+            for (Player winner : result.winners) {
+                winnerSeats |= 1 << simulator.getPlayers().indexOf(winner);
+            }
+            RoundLogic roundLogic = simulator.getRoundLogic();
+            if (winnerSeats != roundLogic.getWinnerSeats() || result.highestScore != roundLogic.getWinningScore()) {
+                mismatches++;
+            }
+            if (result.winners.size() > 1) {
+                ties++;
+            }
+        }
+
+        assertEquals("the winner should be built from the winner seats", 0, mismatches);
+        assertTrue("ties should be among the games", ties > 0);
+    }
+
+    @Test
+    public void testStatisticsAddUpAcrossThreads() {
+        TableRunner runner = new TableRunner(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(15),
+                new ThresholdStrategy(19)), 11);
+        SimulationStatistics statistics = new SimulationStatistics(3);
+        runner.setStatistics(statistics);
+
+        SimulationResult result = runner.run(6, 2_000, 3);
+        StatisticsSnapshot snapshot = statistics.snapshot();
+
+        assertEquals("every game should be counted", result.rounds, snapshot.games);
+        assertArrayEquals("the statistics should count the same wins", result.wins, snapshot.wins);
+        assertEquals("the statistics should count the same ties", result.ties, snapshot.ties);
+        assertEquals("every final hand should be counted", 3 * snapshot.games, Arrays.stream(snapshot.handValues).sum());
+        assertTrue("immediate 21s should happen", snapshot.immediateWins > 0);
+        assertTrue("games should last between zero and five rounds",
+                snapshot.averageRounds() > 0 && snapshot.averageRounds() <= RoundLogic.MAX_ROUNDS);
+
+        assertTrue("the CSV should list the games", snapshot.toCsv().contains("games," + snapshot.games + "\n"));
+        assertTrue("the JSON should list the busted hands",
+                snapshot.toJson().contains("\"busted\":" + snapshot.handValues[SimulationStatistics.BUSTED]));
+    }
+
+    @Test
+    public void testRoundLogOnlyRecordsReplayableShoes() throws Exception {
+        Path file = Files.createTempFile("rounds", ".log");
+        try (RoundLogWriter roundLog = new RoundLogWriter(file)) {
+            Simulator simulator = new Simulator(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(15)),
+                    RandomStreams.seeded(42), new CountingShoe());
+            try {
+                simulator.setRoundLog(roundLog);
+                fail("games from a counting shoe should not be logged");
+            } catch (IllegalStateException e) {
+                assertNull("the simulator should keep logging nothing", simulator.getRoundLog());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRoundLogKeepsEveryGame() throws Exception {
+        Path file = Files.createTempFile("rounds", ".log");
+        try {
+            Simulator simulator = new Simulator(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(15)),
+                    RandomStreams.seeded(42));
+
+            SimulationResult result;
+            try (RoundLogWriter roundLog = new RoundLogWriter(file)) {
+                simulator.setRoundLog(roundLog);
+                result = simulator.run(2_000);
+            }
+
+            long[] wins = new long[2];
+            int[] badDeals = new int[1];
+            long records;
+            try (RoundLogReader reader = new RoundLogReader(file)) {
+                records = reader.forEach(record -> {
+                    if (Integer.bitCount(record.winnerMask()) == 1) {
+                        wins[Integer.numberOfTrailingZeros(record.winnerMask())]++;
+                    }
+                    for (int event = 0; event < 4; event++) {
+                        if (record.eventType(event) != RoundRecord.DEAL || record.eventSeat(event) != event % 2) {
+                            badDeals[0]++;
+                        }
+                    }
+                });
+            }
+
+            assertEquals("every game should be logged", 2_000, records);
+            assertArrayEquals("the logged winners should match the simulation", result.wins, wins);
+            assertEquals("every game should start with two cards for each player", 0, badDeals[0]);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRoundLogKeepsLargeShoes() throws Exception {
+        Path file = Files.createTempFile("rounds", ".log");
+        try {
+            Simulator simulator = new Simulator(200, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(16)),
+                    RandomStreams.seeded(23));
+            try (RoundLogWriter roundLog = new RoundLogWriter(file)) {
+                simulator.setRoundLog(roundLog);
+                simulator.run(100);
+
+                RoundRecorder unfinished = new RoundRecorder(simulator.getPlayers());
+                try {
+                    roundLog.append(1, RoundRecord.MAX_DECKS + 1, unfinished);
+                    fail("a deck count that does not fit the record should be rejected");
+                } catch (IllegalArgumentException e) {
+                    assertEquals("a rejected game should not be logged", 100, roundLog.getRecords());
+                }
+            }
+
+            int[] wrongDecks = new int[1];
+            try (RoundLogReader reader = new RoundLogReader(file)) {
+                reader.forEach(record -> {
+                    if (record.decks() != 200) {
+                        wrongDecks[0]++;
+                    }
+                });
+            }
+            assertEquals("every game should keep its 200 decks", 0, wrongDecks[0]);
+            assertEquals("replaying a 200 deck shoe should give the recorded winners", 0,
+                    new LogVerifier(2).verify(file).mismatches);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRoundLogRejectsFilesWithAnotherHeader() throws Exception {
+        Path garbage = Files.createTempFile("rounds", ".log");
+        Path future = Files.createTempFile("rounds", ".log");
+        try {
+            Files.writeString(garbage, "not a round log at all");
+            try (RoundLogWriter roundLog = new RoundLogWriter(garbage)) {
+                fail("records should not be appended behind garbage");
+            } catch (IllegalArgumentException e) {
+                assertEquals("the file should stay untouched", "not a round log at all", Files.readString(garbage));
+            }
+
+            try (RoundLogWriter roundLog = new RoundLogWriter(future)) {
+                assertEquals("a new log should be empty", 0, roundLog.getRecords());
+            }
+            try (RoundLogWriter roundLog = new RoundLogWriter(future)) {
+                assertEquals("a log of this version should be appended to", 0, roundLog.getRecords());
+            }
+
+            // The version follows the 4 byte magic.
+            try (RandomAccessFile log = new RandomAccessFile(future.toFile(), "rw")) {
+                log.seek(4);
+                log.writeShort(99);
+            }
+            try (RoundLogWriter roundLog = new RoundLogWriter(future)) {
+                fail("records should not be appended to a log of an unknown version");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            try (RoundLogReader reader = new RoundLogReader(future)) {
+                fail("a log of an unknown version should not be read");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(garbage);
+            Files.delete(future);
+        }
+    }
+
+    @Test
+    public void testLogVerifierFlagsChangedWinners() throws Exception {
+        Path file = Files.createTempFile("rounds", ".log");
+        try {
+            Simulator simulator = new Simulator(2, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(16),
+                    new ThresholdStrategy(18)), RandomStreams.seeded(7));
+            try (RoundLogWriter roundLog = new RoundLogWriter(file)) {
+                simulator.setRoundLog(roundLog);
+                simulator.run(5_000);
+            }
+
+            VerificationResult intact = new LogVerifier(2).verify(file);
+            assertEquals("every game should be replayed", 5_000, intact.games);
+            assertEquals("replayed games should have the recorded winners", 0, intact.mismatches);
+
+            // Hand the first game to a seat that did not win it: file header (8 bytes) + winner mask offset (17).
+            try (RandomAccessFile log = new RandomAccessFile(file.toFile(), "rw")) {
+                log.seek(25);
+                int winnerMask = log.read();
+                log.seek(25);
+                log.write(~winnerMask & 0b111);
+            }
+
+            VerificationResult changed = new LogVerifier(2).verify(file);
+            assertEquals("the changed game should be flagged", 1, changed.mismatches);
+            assertTrue("the report should name the changed game", changed.examples.get(0).startsWith("game 0 "));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testStrategyTableDecisionsFollowTheOpponents() throws Exception {
+        StrategyTable table = new StrategyTableGenerator(1, 1).generate();
+
+        int opponentAt18 = StrategyTable.bucketOf(18);
+        assertTrue("a hard 11 should always hit", table.isHit(StrategyTable.index(11, false, 1, opponentAt18, 1)));
+        assertTrue("a hard 17 should hit against 18", table.isHit(StrategyTable.index(17, false, 1, opponentAt18, 1)));
+        assertFalse("a hard 19 should stand against 18", table.isHit(StrategyTable.index(19, false, 1, opponentAt18, 1)));
+
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♠", "10"));
+        dennis.addCard(new Card(7, "♥", "7"));
+        Player marco = new Player("marco");
+        marco.addCard(new Card(10, "♦", "K"));
+        marco.addCard(new Card(8, "♣", "8"));
+        assertTrue("player dennis should hit on 17 against 18", table.shouldHit(dennis, List.of(dennis, marco), 1));
+
+        Path file = Files.createTempFile("strategy", ".bin");
+        try {
+            table.save(file);
+            StrategyTable loaded = StrategyTable.load(file);
+            for (int index = 0; index < StrategyTable.SIZE; index++) {
+                assertEquals("a loaded table should keep every decision", table.isHit(index), loaded.isHit(index));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testGameServerFinishesTableWhenPlayersDoNotAnswer() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1);
+             Socket dennis = new Socket("localhost", server.getPort());
+             Socket marco = new Socket("localhost", server.getPort())) {
+            server.setTurnTimeoutMillis(50);
+            server.start();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(dennis.getInputStream(), StandardCharsets.UTF_8));
+            dennis.getOutputStream().write("JOIN dennis\n".getBytes(StandardCharsets.UTF_8));
+            marco.getOutputStream().write("JOIN marco\n".getBytes(StandardCharsets.UTF_8));
+
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && !line.startsWith("RESULT"));
+
+            assertNotNull("the table should finish although nobody answers", line);
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testGameServerOnlyAcceptsAnswersForThePendingTurn() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1);
+             Socket dennis = new Socket("localhost", server.getPort());
+             Socket marco = new Socket("localhost", server.getPort())) {
+            server.setTurnTimeoutMillis(2_000);
+            server.start();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(dennis.getInputStream(), StandardCharsets.UTF_8));
+            dennis.getOutputStream().write("JOIN dennis\n".getBytes(StandardCharsets.UTF_8));
+            marco.getOutputStream().write("JOIN marco\n".getBytes(StandardCharsets.UTF_8));
+
+            // A dealt 21 ends the table before anybody is asked, so play tables until dennis gets a turn.
+            String turn = null;
+            while (turn == null) {
+                String line = in.readLine();
+                assertNotNull("the server should keep the connection open", line);
+                if (line.startsWith("TURN ")) {
+                    turn = line;
+                } else if (line.startsWith("RESULT ")) {
+                    dennis.getOutputStream().write("JOIN dennis\n".getBytes(StandardCharsets.UTF_8));
+                    marco.getOutputStream().write("JOIN marco\n".getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int turnId = Integer.parseInt(turn.split(" ")[1]);
+
+            dennis.getOutputStream().write("STAND\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("player dennis should name the turn", "ERROR turn id expected", in.readLine());
+
+            dennis.getOutputStream().write(("HIT " + (turnId + 1) + "\n").getBytes(StandardCharsets.UTF_8));
+            assertEquals("player dennis should not answer another turn", "ERROR not your turn", in.readLine());
+
+            dennis.getOutputStream().write(("STAND " + turnId + "\n").getBytes(StandardCharsets.UTF_8));
+            assertTrue("player dennis should stand on the pending turn", in.readLine().startsWith("STAND "));
+
+            dennis.getOutputStream().write(("HIT " + turnId + "\n").getBytes(StandardCharsets.UTF_8));
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && !line.startsWith("ERROR"));
+            assertEquals("a second answer to the same turn should be dropped", "ERROR not your turn", line);
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testGameServerDropsClientsThatStopReading() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1);
+             Socket dennis = new Socket("localhost", server.getPort())) {
+            server.start();
+
+            int commands = 1_000_000;
+            try {
+                dennis.getOutputStream().write("PING\n".repeat(commands).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // The server may drop the connection before everything is sent.
+            }
+
+            int replies = 0;
+            BufferedReader in = new BufferedReader(new InputStreamReader(dennis.getInputStream(), StandardCharsets.UTF_8));
+            try {
+                while (in.readLine() != null) {
+                    replies++;
+                }
+            } catch (IOException e) {
+                // A reset connection ends the replies as well.
+            }
+
+            assertTrue("player dennis should be dropped instead of blocking the server", replies < commands);
+        }
+    }
+
+    @Test
+    public void testGameServerRejectsTableSizesTheRulesDoNotAllow() throws Exception {
+        for (int playersPerTable : new int[]{RoundLogic.MIN_PLAYERS - 1, RoundLogic.MAX_PLAYERS + 1}) {
+            try {
+                new GameServer(0, playersPerTable, 1).close();
+                fail("a table of " + playersPerTable + " players should be rejected");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testGameServerRejectsASecondJoin() throws Exception {
+        try (GameServer server = new GameServer(0, 2, 1);
+             Socket dennis = new Socket("localhost", server.getPort());
+             Socket marco = new Socket("localhost", server.getPort())) {
+            server.setTurnTimeoutMillis(50);
+            server.start();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(dennis.getInputStream(), StandardCharsets.UTF_8));
+            dennis.getOutputStream().write("JOIN dennis\nJOIN dennis\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("player dennis should be welcomed", "WELCOME", in.readLine());
+            assertEquals("player dennis should not join twice", "ERROR already joined", in.readLine());
+
+            marco.getOutputStream().write("JOIN marco\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("player dennis should share the table with marco", "SEATED 0 2", in.readLine());
+
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && !line.startsWith("RESULT"));
+            assertNotNull("the table should finish", line);
+
+            dennis.getOutputStream().write("JOIN dennis\n".getBytes(StandardCharsets.UTF_8));
+            marco.getOutputStream().write("JOIN marco\n".getBytes(StandardCharsets.UTF_8));
+            assertTrue("player dennis should join again after the result", in.readLine().startsWith("SEATED "));
+        }
+    }
+
+    @Test
+    public void testLatencyHistogramPercentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals("the histogram should count every value", 10_000, histogram.getCount());
+        assertEquals("the max should be exact", 10_000_000, histogram.getMax());
+        assertEquals("the p50 should be within 1/16", 5_000_000, histogram.valueAtPercentile(50), 5_000_000 / 16.0);
+        assertEquals("the p99 should be within 1/16", 9_900_000, histogram.valueAtPercentile(99), 9_900_000 / 16.0);
+        assertEquals("the p100 should be the max", 10_000_000, histogram.valueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals("a reset histogram should be empty", 0, histogram.getCount());
+    }
+
+    @Test(timeout = 30_000)
+    public void testMetricsRegistryTimesSimulatedGames() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        Simulator simulator = new Simulator(1, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17)),
+                RandomStreams.seeded(42));
+        simulator.setMetrics(registry);
+        simulator.run(1_000);
+
+        assertEquals("every game should time one initial deal", 1_000,
+                registry.getHistogram(GameTimer.DEAL_INITIAL_CARDS).getCount());
+        assertTrue("no game should determine its winner twice",
+                registry.getHistogram(GameTimer.DETERMINE_WINNER).getCount() <= 1_000);
+        assertTrue("the win condition should be checked every round",
+                registry.getHistogram(GameTimer.CHECK_WIN_CONDITION).getCount() >= 1_000);
+        assertTrue("every game should draw at least four cards",
+                registry.getHistogram(GameTimer.DRAW_CARD).getCount() >= 4_000);
+        assertTrue("decisions should be timed", registry.getHistogram(GameTimer.DECISION).getCount() > 0);
+
+        try (PrometheusEndpoint endpoint = new PrometheusEndpoint(registry, 0)) {
+            endpoint.start();
+            HttpURLConnection connection = (HttpURLConnection) URI.create(
+                    "http://localhost:" + endpoint.getPort() + "/metrics").toURL().openConnection();
+            String body = new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            assertEquals("the endpoint should answer with 200", 200, connection.getResponseCode());
+            assertTrue("the scrape should contain the deal summary",
+                    body.contains("blackjack_deal_initial_cards_seconds_count 1000"));
+            assertTrue("the scrape should contain the p99 quantile",
+                    body.contains("blackjack_draw_card_seconds{quantile=\"0.99\"}"));
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void testFlightRecorderCapturesGameLifecycle() throws Exception {
+        Path file = Files.createTempFile("blackjack", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("blackjack.Game");
+            recording.enable("blackjack.DeckCreated");
+            recording.enable("blackjack.Turn");
+            recording.enable("blackjack.WinnerResolved");
+            recording.start();
+
+            Simulator simulator = new Simulator(2, Arrays.asList(new ThresholdStrategy(17), new ThresholdStrategy(17)),
+                    RandomStreams.seeded(42));
+            simulator.run(100);
+
+            recording.stop();
+            recording.dump(file);
+
+            Map<String, Integer> counts = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                String name = event.getEventType().getName();
+                counts.merge(name, 1, Integer::sum);
+
+                if (name.equals("blackjack.DeckCreated")) {
+                    assertEquals("the deck event should carry the deck count", 2, event.getInt("decks"));
+                    assertEquals("the deck event should count the cards", 2 * Card.DECK_SIZE, event.getInt("cards"));
+                } else if (name.equals("blackjack.Turn")) {
+                    assertTrue("a turn should name its action",
+                            Set.of("HIT", "STAND", "BUST").contains(event.getString("action")));
+                    assertTrue("a turn should name its player", event.getString("player").startsWith("seat "));
+                }
+            }
+
+            assertEquals("one deck should be created", Integer.valueOf(1), counts.get("blackjack.DeckCreated"));
+            assertEquals("every game should be recorded", Integer.valueOf(100), counts.get("blackjack.Game"));
+            assertEquals("every game should resolve its winner once", Integer.valueOf(100),
+                    counts.get("blackjack.WinnerResolved"));
+            assertTrue("every game should record turns", counts.get("blackjack.Turn") >= 200);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testHandStoreMatchesPlayerHands() {
+        List<Boolean> kernels = HandStore.isVectorAvailable() ? List.of(false, true) : List.of(false);
+        for (boolean vectorized : kernels) {
+            // 37 tables of 3 seats leave a tail that the vector loop does not cover.
+            HandStore store = new HandStore(37, 3, vectorized);
+            assertEquals("the store should use the requested kernel", vectorized, store.isVectorized());
+
+            Player[] players = new Player[store.size()];
+            for (int hand = 0; hand < players.length; hand++) {
+                players[hand] = new Player("seat " + hand);
+            }
+
+            RandomGenerator random = RandomStreams.seeded(7);
+            int[] values = new int[store.size()];
+            for (int deal = 0; deal < 8; deal++) {
+                for (int hand = 0; hand < values.length; hand++) {
+                    Card card = random.nextInt(4) == 0 ? null : Card.of(random.nextInt(Card.DECK_SIZE));
+                    values[hand] = card == null ? 0 : card.getValue();
+                    if (card != null) {
+                        players[hand].addCard(card);
+                    }
+                }
+                store.addCards(values);
+                store.evaluate();
+
+                for (int hand = 0; hand < players.length; hand++) {
+                    Player player = players[hand];
+                    assertEquals("hand " + hand + " should have the player's value", player.getHandValue(), store.getHandValue(hand));
+                    assertEquals("hand " + hand + " should count the player's aces", player.getAces(), store.getAces(hand));
+                    assertEquals("hand " + hand + " should bust with the player", player.isBusted(), store.isBusted(hand));
+                    assertEquals("hand " + hand + " should reach 21 with the player", player.hasHighScore(), store.hasHighScore(hand));
+                    assertEquals("hand " + hand + " should be soft with the player", player.isSoft(), store.isSoft(hand));
+                }
+            }
+
+            int hand = store.index(1, 2);
+            store.reset();
+            store.addCard(hand, 11);
+            store.addCard(hand, 10);
+            assertTrue("an ace and a ten should be 21", store.hasHighScore(hand));
+            assertTrue("an ace and a ten should be soft", store.isSoft(hand));
+        }
+    }
+
+    @Test
+    public void testPackedHandRoundTripsPlayers() {
+        RandomGenerator random = RandomStreams.seeded(11);
+        for (int game = 0; game < 10_000; game++) {
+            Player player = new Player("dennis");
+            while (player.getHandValue() < 21 && random.nextInt(5) > 0) {
+                player.addCard(Card.of(random.nextInt(Card.DECK_SIZE)));
+            }
+            player.setStanding(random.nextBoolean());
+            player.setOut(player.isBusted());
+
+            long hand = PackedHand.encode(player);
+            assertEquals("the packed value should match the player", player.getHandValue(), PackedHand.handValue(hand));
+            assertEquals("the packed softness should match the player", player.isSoft(), PackedHand.isSoft(hand));
+            assertEquals("the packed hand should keep the card count", player.getHand().size(), PackedHand.cardCount(hand));
+
+            Player decoded = PackedHand.decode(hand, "dennis");
+            assertEquals("a decoded hand should have the same value", player.getHandValue(), decoded.getHandValue());
+            assertEquals("a decoded hand should keep the status", player.isStanding(), decoded.isStanding());
+            assertEquals("a decoded hand should pack to the same word", hand, PackedHand.encode(decoded));
+        }
+
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(10, "♠", "K"));
+        dennis.addCard(new Card(7, "♥", "7"));
+        Player marco = new Player("marco");
+        marco.addCard(new Card(7, "♦", "7"));
+        marco.addCard(new Card(10, "♣", "10"));
+        assertEquals("the order and suits of the cards should not matter",
+                PackedHand.encode(dennis), PackedHand.encode(marco));
+    }
+
+    @Test
+    public void testPackedTableRoundTripsTableState() {
+        Player dennis = new Player("dennis");
+        dennis.addCard(new Card(11, "♠", "A"));
+        dennis.addCard(new Card(6, "♥", "6"));
+        Player marco = new Player("marco");
+        marco.addCard(new Card(10, "♦", "K"));
+        marco.addCard(new Card(9, "♣", "9"));
+        marco.setStanding(true);
+        Player lena = new Player("lena");
+        lena.addCard(new Card(10, "♦", "Q"));
+        lena.addCard(new Card(10, "♣", "J"));
+        lena.addCard(new Card(5, "♣", "5"));
+        lena.setOut(true);
+
+        CountingShoe shoe = new CountingShoe(2);
+        PackedTable table = PackedTable.encode(List.of(dennis, marco, lena), shoe, 3, 1);
+
+        assertEquals("the table should keep the seat count", 3, table.numSeats());
+        assertEquals("the table should keep the round", 3, table.round());
+        assertEquals("the table should keep the next seat", 1, table.nextSeat());
+        assertEquals("player dennis should keep a soft 17", 17, table.total(0));
+        assertTrue("player dennis should keep a soft 17", table.isSoft(0));
+        assertEquals("player marco should be standing", PackedTable.STANDING, table.status(1));
+        assertEquals("player lena should be out", PackedTable.OUT, table.status(2));
+        assertEquals("the shoe should keep its ten-valued cards", 32, table.count(10));
+        assertEquals("the shoe should keep its size", shoe.size(), table.remaining());
+
+        List<Player> players = table.decodePlayers();
+        Shoe decodedShoe = table.decodeShoe();
+        assertEquals("decoding and encoding should give the same state", table,
+                PackedTable.encode(players, decodedShoe, 3, 1));
+        assertEquals("equal states should hash alike", table.hash(),
+                PackedTable.encode(players, decodedShoe, 3, 1).hash());
+
+        shoe.draw(RandomStreams.seeded(1));
+        assertNotEquals("drawing a card should change the state", table, PackedTable.encode(List.of(dennis, marco, lena), shoe, 3, 1));
+
+        for (int total = 4; total <= 21; total++) {
+            for (int soft = 0; soft <= (total >= 12 ? 1 : 0); soft++) {
+                PackedTable single = PackedTable.pack(1, 0, 1, new int[]{total}, new int[]{soft}, new int[]{PackedTable.ACTIVE},
+                        new int[PackedTable.VALUES]);
+                Player decoded = single.decodePlayers().get(0);
+                assertEquals("a decoded seat should keep its total", total, decoded.getHandValue());
+                assertEquals("a decoded seat should keep its softness", soft == 1, decoded.isSoft());
+            }
+        }
+    }
+
+    @Test
+    public void testTranspositionCacheStaysWithinBudgetAndKeepsHotStates() {
+        TranspositionCache cache = new TranspositionCache(64 * 1024);
+        PackedTable hot = tableWithTwos(0);
+        cache.put(hot, new double[]{0.25, 0.75});
+
+        for (int twos = 1; twos <= 4_000; twos++) {
+            cache.put(tableWithTwos(twos), new double[]{1.0, 0.0});
+            assertNotNull("a state read after every insert should never be evicted", cache.get(hot));
+            assertTrue("the cache should stay within its budget", cache.getBytes() <= cache.getMaxBytes());
+        }
+
+        assertTrue("a full cache should evict", cache.getEvictions() > 0);
+        assertNull("an old cold state should have been evicted", cache.get(tableWithTwos(1)));
+        assertEquals("the hot state should keep its value", 0.75, cache.get(hot)[1], 1e-9);
+        assertEquals("every read of the hot state should hit", 4_001, cache.getHits());
+        assertEquals("the hit rate should count the one miss", 4_001 / 4_002.0, cache.getHitRate(), 1e-9);
+
+        cache.clear();
+        assertEquals("a cleared cache should be empty", 0, cache.size());
+        assertEquals("a cleared cache should hold no bytes", 0, cache.getBytes());
+    }
+
+    @Test(timeout = 30_000)
+    public void testTranspositionCacheIsSharedAcrossThreads() throws Exception {
+        TranspositionCache cache = new TranspositionCache(256 * 1024);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                for (int twos = 0; twos < 4_000; twos++) {
+                    PackedTable key = tableWithTwos(twos);
+                    double[] cached = cache.get(key);
+                    if (cached == null) {
+                        cache.put(key, new double[]{twos, 0.0});
+                    } else {
+                        assertEquals("a shared state should keep its value", twos, cached[0], 0.0);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).get();
+
+        assertTrue("the cache should stay within its budget", cache.getBytes() <= cache.getMaxBytes());
+        TranspositionCache single = new TranspositionCache();
+        single.put(tableWithTwos(0), new double[]{0.0, 0.0});
+        assertEquals("the budget should account for exactly the states in the map",
+                cache.size() * single.getBytes(), cache.getBytes());
+        assertTrue("the threads should see each other's states", cache.getHits() > 0);
+    }
+
+    @Test
+    public void testWinProbabilityWithSmallCacheMatchesUnboundedCache() {
+        List<Player> players = new ArrayList<>();
+        CardLogic cardLogic = new CardLogic(new CountingShoe(), players);
+        cardLogic.setListener(GameListener.NONE);
+        cardLogic.setDealPacing(DealPacing.none());
+        cardLogic.setRandom(RandomStreams.seeded(3));
+        cardLogic.fillDeck(1);
+        players.add(new Player("dennis"));
+        players.add(new Player("marco"));
+        players.add(new Player("lena"));
+        try {
+            cardLogic.dealInitialCards();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        TranspositionCache small = new TranspositionCache(64 * 1024);
+        double[] expected = new WinProbabilityCalculator().calculate(players, cardLogic.getShoe());
+        double[] odds = new WinProbabilityCalculator(small).calculate(players, cardLogic.getShoe());
+
+        assertTrue("the small cache should have evicted states", small.getEvictions() > 0);
+        assertArrayEquals("evicting states should not change the odds", expected, odds, 1e-12);
+    }
+
+    private PackedTable tableWithTwos(int twos) {
+        int[] counts = new int[PackedTable.VALUES];
+        counts[0] = twos;
+        return PackedTable.pack(1, 0, 2, new int[]{12, 15}, new int[]{0, 0},
+                new int[]{PackedTable.ACTIVE, PackedTable.ACTIVE}, counts);
+    }
+
+    @Test
+    public void testCutCardShoeNeverDealsACardTwiceInOneRound() {
+        for (Shoe inner : List.of(new ListShoe(), new CountingShoe())) {
+            CutCardShoe shoe = new CutCardShoe(inner, 1.0);
+            shoe.fill(1);
+            RandomGenerator random = RandomStreams.seeded(5);
+
+            // The first round leaves 40 cards in the discard tray, the second one drains the last 12 and keeps going.
+            for (int i = 0; i < 40; i++) {
+                shoe.draw(random);
+            }
+            shoe.discardHands();
+
+            Set<Integer> dealt = new HashSet<>();
+            for (int i = 0; i < 40; i++) {
+                assertTrue("no card should be dealt twice in one round", dealt.add(shoe.draw(random).getCode()));
+            }
+            assertEquals("the shoe should have been reshuffled mid-round", 1, shoe.getShuffles());
+            assertEquals("the cards of the running round should stay out", Card.DECK_SIZE - 40, shoe.size());
+
+            for (int i = 0; i < Card.DECK_SIZE - 40; i++) {
+                shoe.draw(random);
+            }
+            try {
+                shoe.draw(random);
+                fail("a round holding every card should not reshuffle");
+            } catch (IllegalStateException e) {
+                assertEquals("the shoe should not reshuffle again", 1, shoe.getShuffles());
+            }
+        }
+    }
+
+
+    // Walks every hand that can be reached by hitting (no card is added to a busted hand), adding the cards
+    // both in ascending and descending order, and compares the tracked value against summing the hand and
+    // reducing aces afterwards.
+    private int checkHandValues(Card[] cards, int from, List<Card> hand) {
+        int mismatches = 0;
+
+        for (int i = from; i < cards.length; i++) {
+            hand.add(cards[i]);
+
+            int expected = recalculateHandValue(hand);
+            mismatches += countMismatches(hand, expected);
+            Collections.reverse(hand);
+            mismatches += countMismatches(hand, expected);
+            Collections.reverse(hand);
+
+            if (expected <= 21) {
+                mismatches += checkHandValues(cards, i, hand);
+            }
+
+            hand.remove(hand.size() - 1);
+        }
+
+        return mismatches;
+    }
+
+    private int countMismatches(List<Card> hand, int expected) {
+        Player player = new Player("dennis");
+        for (Card card : hand) {
+            player.addCard(card);
+        }
+
+        boolean matches = player.getHandValue() == expected
+                && player.isBusted() == expected > 21
+                && player.hasHighScore() == (expected == 21);
+        return matches ? 0 : 1;
+    }
+
+    private int recalculateHandValue(List<Card> hand) {
+        int value = 0;
+        int aces = 0;
+
+        for (Card card : hand) {
+            value += card.getValue();
+            if (card.getValue() == 11) {
+                aces++;
+            }
+        }
+
+        while (value > 21 && aces > 0) {
+            value -= 10;
+            aces--;
+        }
+
+        return value;
+    }
+
+    private List<String> drawCards(RandomGenerator random, int count) {
+        CardLogic cardLogic = new CardLogic(new ArrayList<>(), new ArrayList<>());
+        cardLogic.setRandom(random);
+        cardLogic.fillDeck(1);
+
+        List<String> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(cardLogic.drawCard().toString());
+        }
+        return cards;
+    }
 
     private Random createDeterministicRandom() {
         return new Random() {
@@ -0,0 +1,64 @@
+package com.github.dennismuehlegger.blackjack.simulation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Only built by the vector profile, and only loaded by HandStore when jdk.incubator.vector is in the boot layer
+// (--add-modules jdk.incubator.vector).
+class VectorHandKernel implements HandKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void addCards(int[] values, int[] totals, int[] aces, int[] softAces, int count) {
+        int bound = SPECIES.loopBound(count);
+        int hand = 0;
+
+        for (; hand < bound; hand += SPECIES.length()) {
+            IntVector value = IntVector.fromArray(SPECIES, values, hand);
+            IntVector total = IntVector.fromArray(SPECIES, totals, hand).add(value);
+            IntVector soft = IntVector.fromArray(SPECIES, softAces, hand);
+
+            VectorMask<Integer> isAce = value.compare(VectorOperators.EQ, ACE_VALUE);
+            IntVector.fromArray(SPECIES, aces, hand).add(1, isAce).intoArray(aces, hand);
+            soft = soft.add(1, isAce);
+
+            // A hand of at most 21 gets over 21 by at most one ace plus ten, so two reductions replace the loop.
+            for (int reduction = 0; reduction < 2; reduction++) {
+                VectorMask<Integer> reduce = total.compare(VectorOperators.GT, HIGHEST_SCORE)
+                        .and(soft.compare(VectorOperators.GT, 0));
+                total = total.sub(ACE_REDUCTION, reduce);
+                soft = soft.sub(1, reduce);
+            }
+
+            total.intoArray(totals, hand);
+            soft.intoArray(softAces, hand);
+        }
+
+        for (; hand < count; hand++) {
+            ScalarHandKernel.addCard(hand, values[hand], totals, aces, softAces);
+        }
+    }
+
+    @Override
+    public void evaluate(int[] totals, int[] softAces, int[] status, int count) {
+        int bound = SPECIES.loopBound(count);
+        IntVector zero = IntVector.zero(SPECIES);
+        int hand = 0;
+
+        for (; hand < bound; hand += SPECIES.length()) {
+            IntVector total = IntVector.fromArray(SPECIES, totals, hand);
+            IntVector soft = IntVector.fromArray(SPECIES, softAces, hand);
+
+            zero.blend(HandStore.BUSTED, total.compare(VectorOperators.GT, HIGHEST_SCORE))
+                    .or(zero.blend(HandStore.HIGH_SCORE, total.compare(VectorOperators.EQ, HIGHEST_SCORE)))
+                    .or(zero.blend(HandStore.SOFT, soft.compare(VectorOperators.GT, 0)))
+                    .intoArray(status, hand);
+        }
+
+        for (; hand < count; hand++) {
+            status[hand] = ScalarHandKernel.statusOf(totals[hand], softAces[hand]);
+        }
+    }
+}